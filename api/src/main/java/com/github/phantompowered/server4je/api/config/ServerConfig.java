@@ -80,6 +80,14 @@ public interface ServerConfig {
 
     long getReadTimeoutMilliseconds();
 
+    long getConnectionThrottleMilliseconds();
+
+    int getConnectionThrottleBurst();
+
+    int getMaxConnectionsPerSecond();
+
+    boolean isTickAlignedFlushing();
+
     enum IpForwardingMode {
 
         DISABLED,
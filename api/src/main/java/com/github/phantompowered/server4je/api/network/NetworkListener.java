@@ -28,6 +28,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 
 public interface NetworkListener {
 
@@ -37,6 +38,17 @@ public interface NetworkListener {
     @NotNull
     String getHostString();
 
+    /**
+     * Get the address the listener is bound to. This is the {@link #getHost() host} for network listeners, but
+     * may be another kind of address, for example a unix domain socket path.
+     *
+     * @return the address the listener is bound to
+     */
+    @NotNull
+    default SocketAddress getBindAddress() {
+        return this.getHost();
+    }
+
     @Range(from = 0, to = 65535)
     int getPort();
 
@@ -24,20 +24,38 @@
  */
 package com.github.phantompowered.server4je.authlib;
 
+import com.github.phantompowered.server4je.authlib.mojang.UniqueIdLookupResult;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface MojangAPI extends SessionService {
 
     @NotNull
     Optional<UUID> getPlayerUniqueId(@NotNull String username);
 
+    @NotNull
+    CompletableFuture<Optional<UUID>> getPlayerUniqueIdAsync(@NotNull String username);
+
+    /**
+     * Resolves the unique ids of all given user names, waiting until all lookups are done.
+     *
+     * @param usernames the names to resolve.
+     * @return the resolved unique ids as well as the unknown names and the names whose lookup failed.
+     */
+    @NotNull
+    UniqueIdLookupResult getPlayerUniqueIds(@NotNull Collection<String> usernames);
+
     @NotNull
     Optional<UUID> getPlayerUniqueIdAt(@NotNull String username, @Range(from = 0, to = Long.MAX_VALUE) long timestamp);
 
     @NotNull
     Optional<String> getPlayerName(@NotNull UUID uniqueId);
+
+    @NotNull
+    CompletableFuture<Optional<String>> getPlayerNameAsync(@NotNull UUID uniqueId);
 }
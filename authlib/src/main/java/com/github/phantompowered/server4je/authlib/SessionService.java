@@ -33,15 +33,22 @@ import org.jetbrains.annotations.Nullable;
 import java.net.InetAddress;
 import java.net.Proxy;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface SessionService {
 
     @NotNull
     Optional<GameProfile> hasJoinedServer(@NotNull GameProfile user, @NotNull String serverId, @Nullable InetAddress proxy) throws AuthenticationFailedException;
 
+    @NotNull
+    CompletableFuture<Optional<GameProfile>> hasJoinedServerAsync(@NotNull GameProfile user, @NotNull String serverId, @Nullable InetAddress proxy);
+
     @NotNull
     GameProfile fillProfile(@NotNull GameProfile gameProfile, boolean requireSecure);
 
+    @NotNull
+    CompletableFuture<GameProfile> fillProfileAsync(@NotNull GameProfile gameProfile, boolean requireSecure);
+
     void fillProfile(@NotNull GameProfile gameProfile, boolean requireSecure, @NotNull Callback<GameProfile> callback);
 
     @NotNull
@@ -0,0 +1,229 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.authlib.cache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A size bounded cache for remote lookups. Found and not found results are kept for different times and
+ * concurrent lookups of the same key share one request. Failed lookups are never cached.
+ *
+ * @param <K> the type of the lookup key.
+ * @param <V> the type of the looked up value.
+ */
+public class LookupCache<K, V> {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+    public static final Duration DEFAULT_POSITIVE_TTL = Duration.ofHours(5);
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofMinutes(5);
+
+    private final Cache<K, Entry<V>> cache;
+    private final ConcurrentMap<K, CompletableFuture<Optional<V>>> inFlight = new ConcurrentHashMap<>();
+    private final Ticker ticker;
+    private final long positiveTtlNanos;
+    private final long negativeTtlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LookupCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_POSITIVE_TTL, DEFAULT_NEGATIVE_TTL);
+    }
+
+    public LookupCache(long maximumSize, @NotNull Duration positiveTtl, @NotNull Duration negativeTtl) {
+        this(maximumSize, positiveTtl, negativeTtl, Ticker.systemTicker());
+    }
+
+    public LookupCache(long maximumSize, @NotNull Duration positiveTtl, @NotNull Duration negativeTtl, @NotNull Ticker ticker) {
+        Preconditions.checkArgument(maximumSize >= 0, "Maximum size has to be positive");
+        Preconditions.checkArgument(!positiveTtl.isNegative() && !negativeTtl.isNegative(), "Time to live has to be positive");
+
+        this.ticker = ticker;
+        this.positiveTtlNanos = positiveTtl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        // the entries are expired by us, the cache only removes them once the longer of both times is over
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Math.max(this.positiveTtlNanos, this.negativeTtlNanos), TimeUnit.NANOSECONDS)
+            .ticker(ticker)
+            .removalListener(notification -> {
+                if (notification.getCause() == RemovalCause.SIZE) {
+                    this.evictions.increment();
+                }
+            })
+            .build();
+    }
+
+    /**
+     * Gets the cached result for the given key or loads it using the given loader. If another lookup of the same
+     * key is running the returned future completes with the result of that lookup.
+     *
+     * @param key    the key to look up.
+     * @param loader the loader used when neither a cached result nor a running lookup is available.
+     * @return a future completed with the result, or exceptionally when the lookup failed.
+     */
+    @NotNull
+    public CompletableFuture<Optional<V>> get(@NotNull K key, @NotNull Function<K, CompletableFuture<Optional<V>>> loader) {
+        Entry<V> entry = this.getValidEntry(key);
+        if (entry != null) {
+            (entry.value == null ? this.negativeHits : this.hits).increment();
+            return CompletableFuture.completedFuture(Optional.ofNullable(entry.value));
+        }
+
+        CompletableFuture<Optional<V>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<V>> running = this.inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            this.coalesced.increment();
+            return running.copy();
+        }
+
+        this.misses.increment();
+
+        CompletableFuture<Optional<V>> load;
+        try {
+            load = loader.apply(key);
+        } catch (Throwable throwable) {
+            load = CompletableFuture.failedFuture(throwable);
+        }
+
+        load.whenComplete((result, throwable) -> {
+            // cache the result before the lookup is removed so no concurrent caller sends a second request
+            if (throwable == null) {
+                this.put(key, result);
+            } else {
+                this.failures.increment();
+            }
+
+            this.inFlight.remove(key, future);
+            if (throwable == null) {
+                future.complete(result == null ? Optional.empty() : result);
+            } else {
+                future.completeExceptionally(throwable);
+            }
+        });
+
+        return future.copy();
+    }
+
+    /**
+     * Gets the cached result for the given key without loading it.
+     *
+     * @param key the key to look up.
+     * @return {@code null} if no result is cached, else the cached result which is empty if the key is known to not exist.
+     */
+    @Nullable
+    public Optional<V> getIfPresent(@NotNull K key) {
+        Entry<V> entry = this.getValidEntry(key);
+        return entry == null ? null : Optional.ofNullable(entry.value);
+    }
+
+    public void put(@NotNull K key, @Nullable Optional<V> result) {
+        V value = result == null ? null : result.orElse(null);
+        if ((value == null ? this.negativeTtlNanos : this.positiveTtlNanos) > 0) {
+            this.cache.put(key, new Entry<>(value, this.ticker.read()));
+        }
+    }
+
+    public void invalidate(@NotNull K key) {
+        this.cache.invalidate(key);
+    }
+
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    public long size() {
+        return this.cache.size();
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getNegativeHits() {
+        return this.negativeHits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getCoalescedLookups() {
+        return this.coalesced.sum();
+    }
+
+    public long getFailedLookups() {
+        return this.failures.sum();
+    }
+
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    private @Nullable Entry<V> getValidEntry(@NotNull K key) {
+        Entry<V> entry = this.cache.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+
+        long ttl = entry.value == null ? this.negativeTtlNanos : this.positiveTtlNanos;
+        if (this.ticker.read() - entry.createdNanos >= ttl) {
+            this.cache.asMap().remove(key, entry);
+            return null;
+        }
+
+        return entry;
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long createdNanos;
+
+        private Entry(V value, long createdNanos) {
+            this.value = value;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
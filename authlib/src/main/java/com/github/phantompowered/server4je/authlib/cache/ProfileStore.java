@@ -0,0 +1,65 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.authlib.cache;
+
+import com.destroystokyo.paper.profile.ProfileProperty;
+import com.github.phantompowered.server4je.authlib.profile.GameProfile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * A persistent store for profile data which is consulted by the session service before a lookup is sent to
+ * mojang. Implementations are expected to drop entries once they are stale, every method may be called from
+ * any thread.
+ */
+public interface ProfileStore {
+
+    @Nullable
+    UUID getUniqueId(@NotNull String name);
+
+    @Nullable
+    String getName(@NotNull UUID uniqueId);
+
+    /**
+     * Gets the stored textures of the given profile.
+     *
+     * @param uniqueId the unique id of the profile.
+     * @return {@code null} if the textures are unknown, else the stored texture properties which may be empty.
+     */
+    @Nullable
+    Collection<ProfileProperty> getTextures(@NotNull UUID uniqueId);
+
+    void storeUniqueId(@NotNull String name, @NotNull UUID uniqueId);
+
+    /**
+     * Stores the name, unique id and textures of the given profile. Incomplete profiles are ignored.
+     *
+     * @param gameProfile the profile to store.
+     */
+    void storeProfile(@NotNull GameProfile gameProfile);
+}
@@ -28,6 +28,10 @@ public class AuthenticationFailedException extends RuntimeException {
 
     private static final long serialVersionUID = -2087604888562543926L;
 
+    public AuthenticationFailedException(String message) {
+        super(message);
+    }
+
     public AuthenticationFailedException(Throwable cause) {
         super(cause);
     }
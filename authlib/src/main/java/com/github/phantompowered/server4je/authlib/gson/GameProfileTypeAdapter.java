@@ -0,0 +1,121 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.authlib.gson;
+
+import com.destroystokyo.paper.profile.ProfileProperty;
+import com.github.phantompowered.server4je.authlib.profile.GameProfile;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Reads a game profile as sent by the session server straight from the json stream. Documents which contain
+ * neither a unique id nor a name, for example error responses, are read as {@code null}.
+ */
+public class GameProfileTypeAdapter extends TypeAdapter<GameProfile> {
+
+    @Override
+    public void write(JsonWriter out, GameProfile gameProfile) throws IOException {
+        if (gameProfile == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        if (gameProfile.getId() != null) {
+            out.name("id").value(UniqueIdTypeAdapter.toUndashedString(gameProfile.getId()));
+        }
+
+        if (gameProfile.getName() != null) {
+            out.name("name").value(gameProfile.getName());
+        }
+
+        if (!gameProfile.getProperties().isEmpty()) {
+            out.name("properties");
+            PropertyMultimapTypeAdapter.writeProperties(out, gameProfile.getProperties());
+        }
+
+        if (gameProfile.isLegacy()) {
+            out.name("legacy").value(true);
+        }
+        out.endObject();
+    }
+
+    @Override
+    public GameProfile read(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return null;
+        }
+
+        UUID uniqueId = null;
+        String name = null;
+        boolean legacy = false;
+        Collection<ProfileProperty> properties = new ArrayList<>(1);
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    String id = PropertyMultimapTypeAdapter.nextStringOrNull(in);
+                    uniqueId = id == null ? null : UniqueIdTypeAdapter.fromString(id);
+                    break;
+                case "name":
+                    name = PropertyMultimapTypeAdapter.nextStringOrNull(in);
+                    break;
+                case "properties":
+                    PropertyMultimapTypeAdapter.readProperties(in, properties::add);
+                    break;
+                case "legacy":
+                    legacy = in.peek() == JsonToken.BOOLEAN ? in.nextBoolean() : skip(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        if (uniqueId == null && (name == null || name.isBlank())) {
+            return null;
+        }
+
+        GameProfile gameProfile = new GameProfile(uniqueId, name);
+        gameProfile.setLegacy(legacy);
+        gameProfile.setProperties(properties);
+        return gameProfile;
+    }
+
+    private static boolean skip(JsonReader in) throws IOException {
+        in.skipValue();
+        return false;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.authlib.gson;
+
+import com.destroystokyo.paper.profile.ProfileProperty;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Multimap;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Reads profile properties straight from the json stream, either in the array form sent by the session server
+ * or in the legacy object form mapping every property name to an array of values.
+ */
+public class PropertyMultimapTypeAdapter extends TypeAdapter<Multimap<String, ProfileProperty>> {
+
+    @Override
+    public void write(JsonWriter out, Multimap<String, ProfileProperty> map) throws IOException {
+        if (map == null) {
+            out.nullValue();
+            return;
+        }
+
+        writeProperties(out, map.values());
+    }
+
+    @Override
+    public Multimap<String, ProfileProperty> read(JsonReader in) throws IOException {
+        Multimap<String, ProfileProperty> map = LinkedHashMultimap.create();
+        readProperties(in, property -> map.put(property.getName(), property));
+        return map;
+    }
+
+    static void readProperties(@NotNull JsonReader in, @NotNull Consumer<ProfileProperty> consumer) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.BEGIN_ARRAY) {
+            in.beginArray();
+            while (in.hasNext()) {
+                ProfileProperty property = readProperty(in);
+                if (property != null) {
+                    consumer.accept(property);
+                }
+            }
+            in.endArray();
+        } else if (token == JsonToken.BEGIN_OBJECT) {
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() != JsonToken.BEGIN_ARRAY) {
+                    in.skipValue();
+                    continue;
+                }
+
+                in.beginArray();
+                while (in.hasNext()) {
+                    if (in.peek() == JsonToken.STRING) {
+                        consumer.accept(new ProfileProperty(name, in.nextString()));
+                    } else {
+                        in.skipValue();
+                    }
+                }
+                in.endArray();
+            }
+            in.endObject();
+        } else {
+            in.skipValue();
+        }
+    }
+
+    static void writeProperties(@NotNull JsonWriter out, @NotNull Iterable<ProfileProperty> properties) throws IOException {
+        out.beginArray();
+        for (ProfileProperty property : properties) {
+            out.beginObject();
+            out.name("name").value(property.getName());
+            out.name("value").value(property.getValue());
+            if (property.isSigned()) {
+                out.name("signature").value(property.getSignature());
+            }
+            out.endObject();
+        }
+        out.endArray();
+    }
+
+    private static @Nullable ProfileProperty readProperty(@NotNull JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return null;
+        }
+
+        String name = null;
+        String value = null;
+        String signature = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name":
+                    name = nextStringOrNull(in);
+                    break;
+                case "value":
+                    value = nextStringOrNull(in);
+                    break;
+                case "signature":
+                    signature = nextStringOrNull(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        if (name == null || value == null) {
+            return null;
+        }
+
+        return signature == null ? new ProfileProperty(name, value) : new ProfileProperty(name, value, signature);
+    }
+
+    static @Nullable String nextStringOrNull(@NotNull JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        return in.nextString();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.authlib.gson;
+
+import com.github.phantompowered.server4je.common.exception.ClassShouldNotBeInstantiatedDirectlyException;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads unique ids from mojang api responses without building a json tree, every field which is not needed
+ * is skipped.
+ */
+public final class UniqueIdExtractor {
+
+    private UniqueIdExtractor() {
+        throw ClassShouldNotBeInstantiatedDirectlyException.INSTANCE;
+    }
+
+    /**
+     * Reads the {@code id} field of the given json object.
+     *
+     * @param json the json to read, may be empty.
+     * @return the unique id or {@code null} if the json is empty, no object or has no id.
+     * @throws JsonParseException if the json is malformed.
+     */
+    @Nullable
+    public static UUID extractId(@NotNull String json) {
+        if (json.isBlank()) {
+            return null;
+        }
+
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return null;
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("id") && reader.peek() == JsonToken.STRING) {
+                    return UniqueIdTypeAdapter.fromString(reader.nextString());
+                }
+
+                reader.skipValue();
+            }
+
+            return null;
+        } catch (IOException | IllegalStateException exception) {
+            throw new JsonParseException(exception);
+        }
+    }
+
+    /**
+     * Reads the {@code name} and {@code id} fields of all objects in the given json array, as sent by the bulk
+     * profile endpoint.
+     *
+     * @param json     the json array to read.
+     * @param consumer the consumer accepting the name and unique id of every complete profile.
+     * @throws JsonParseException if the json is malformed.
+     */
+    public static void extractIds(@NotNull String json, @NotNull BiConsumer<String, UUID> consumer) {
+        if (json.isBlank()) {
+            return;
+        }
+
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                return;
+            }
+
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                String name = null;
+                String id = null;
+
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String field = reader.nextName();
+                    if (reader.peek() == JsonToken.STRING && (field.equals("id") || field.equals("name"))) {
+                        if (field.equals("id")) {
+                            id = reader.nextString();
+                        } else {
+                            name = reader.nextString();
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+
+                if (name != null && id != null) {
+                    consumer.accept(name, UniqueIdTypeAdapter.fromString(id));
+                }
+            }
+            reader.endArray();
+        } catch (IOException | IllegalStateException exception) {
+            throw new JsonParseException(exception);
+        }
+    }
+}
@@ -34,12 +34,11 @@ import java.util.UUID;
 
 public class UniqueIdTypeAdapter extends TypeAdapter<UUID> {
 
-    private static final String UUID_REGEX = "(\\w{8})(\\w{4})(\\w{4})(\\w{4})(\\w{12})";
-    private static final String UUID_REPLACEMENT = "$1-$2-$3-$4-$5";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
     @Override
     public void write(JsonWriter jsonWriter, UUID uuid) throws IOException {
-        jsonWriter.value(uuid.toString().replace("-", ""));
+        jsonWriter.value(UniqueIdTypeAdapter.toUndashedString(uuid));
     }
 
     @Override
@@ -49,6 +48,30 @@ public class UniqueIdTypeAdapter extends TypeAdapter<UUID> {
 
     @NotNull
     public static UUID fromString(@NotNull String in) {
-        return UUID.fromString(in.replaceFirst(UUID_REGEX, UUID_REPLACEMENT));
+        // mojang sends unique ids without dashes, parse them without building the dashed form first
+        if (in.length() == 32) {
+            try {
+                return new UUID(Long.parseUnsignedLong(in, 0, 16, 16), Long.parseUnsignedLong(in, 16, 32, 16));
+            } catch (NumberFormatException exception) {
+                throw new IllegalArgumentException("Invalid unique id " + in, exception);
+            }
+        }
+
+        return UUID.fromString(in);
+    }
+
+    @NotNull
+    public static String toUndashedString(@NotNull UUID uuid) {
+        char[] chars = new char[32];
+        writeHex(chars, 0, uuid.getMostSignificantBits());
+        writeHex(chars, 16, uuid.getLeastSignificantBits());
+        return new String(chars);
+    }
+
+    private static void writeHex(char[] chars, int offset, long value) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
     }
 }
@@ -0,0 +1,300 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.authlib.http;
+
+import com.github.phantompowered.server4je.authlib.exception.AuthenticationFailedException;
+import com.github.phantompowered.server4je.common.CommonConstants;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.net.ssl.SSLSession;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A non-blocking http client for the mojang apis. All requests share one connection pool (and one connection
+ * when the server speaks HTTP/2), no thread is parked while a request is in flight and at most
+ * {@link #getMaxConcurrentRequests()} requests are sent at the same time, all others are queued.
+ *
+ * <p>The jdk http client is unable to connect through socks proxies. While a socks proxy is used, the requests
+ * are sent by blocking connections on the task pool instead, still respecting the concurrency limit.</p>
+ */
+public class MojangHttpClient {
+
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(15);
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(15);
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 32;
+
+    private final Duration connectTimeout;
+    private final Duration requestTimeout;
+    private final int maxConcurrentRequests;
+    private final Queue<PendingRequest> pendingRequests = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger runningRequests = new AtomicInteger();
+
+    private volatile HttpClient httpClient;
+    private volatile Proxy blockingProxy;
+
+    public MojangHttpClient() {
+        this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_REQUEST_TIMEOUT, DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+
+    public MojangHttpClient(@NotNull Duration connectTimeout, @NotNull Duration requestTimeout, int maxConcurrentRequests) {
+        Preconditions.checkArgument(!connectTimeout.isNegative() && !connectTimeout.isZero(), "Connect timeout has to be positive");
+        Preconditions.checkArgument(!requestTimeout.isNegative() && !requestTimeout.isZero(), "Request timeout has to be positive");
+        Preconditions.checkArgument(maxConcurrentRequests > 0, "Max concurrent requests has to be positive");
+
+        this.connectTimeout = connectTimeout;
+        this.requestTimeout = requestTimeout;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.httpClient = this.createHttpClient(null);
+    }
+
+    /**
+     * Sets the proxy used for all requests sent after this call. Requests through socks proxies are sent
+     * using blocking connections.
+     *
+     * @param proxy the proxy to use or {@code null} to connect directly.
+     */
+    public void setProxy(@Nullable Proxy proxy) {
+        boolean blocking = proxy != null && proxy.type() == Proxy.Type.SOCKS;
+        this.httpClient = this.createHttpClient(blocking ? null : proxy);
+        this.blockingProxy = blocking ? proxy : null;
+    }
+
+    @NotNull
+    public CompletableFuture<HttpResponse<String>> get(@NotNull String url) {
+        return this.send(this.newRequest(url).GET().build(), null);
+    }
+
+    @NotNull
+    public CompletableFuture<HttpResponse<String>> post(@NotNull String url, @NotNull String jsonBody) {
+        return this.send(this.newRequest(url)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(jsonBody, StandardCharsets.UTF_8))
+            .build(), jsonBody);
+    }
+
+    public int getMaxConcurrentRequests() {
+        return this.maxConcurrentRequests;
+    }
+
+    public int getRunningRequests() {
+        return this.runningRequests.get();
+    }
+
+    public int getQueuedRequests() {
+        return this.pendingRequests.size();
+    }
+
+    private @NotNull HttpRequest.Builder newRequest(@NotNull String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(this.requestTimeout);
+    }
+
+    private @NotNull CompletableFuture<HttpResponse<String>> send(@NotNull HttpRequest request, @Nullable String body) {
+        PendingRequest pendingRequest = new PendingRequest(request, body);
+        this.pendingRequests.add(pendingRequest);
+        this.sendPendingRequests();
+
+        return pendingRequest.future;
+    }
+
+    private void sendPendingRequests() {
+        // every caller checks the queue after changing it or the running count, so no request is left behind
+        while (!this.pendingRequests.isEmpty()) {
+            int running = this.runningRequests.get();
+            if (running >= this.maxConcurrentRequests) {
+                return;
+            }
+
+            if (!this.runningRequests.compareAndSet(running, running + 1)) {
+                continue;
+            }
+
+            PendingRequest pendingRequest = this.pendingRequests.poll();
+            if (pendingRequest == null) {
+                this.runningRequests.decrementAndGet();
+                continue;
+            }
+
+            Proxy blockingProxy = this.blockingProxy;
+            CompletableFuture<HttpResponse<String>> future = blockingProxy == null
+                ? this.httpClient.sendAsync(pendingRequest.request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                : CompletableFuture.supplyAsync(() -> this.sendBlocking(pendingRequest, blockingProxy), CommonConstants.TASK_POOL);
+
+            future.whenComplete((response, throwable) -> {
+                this.runningRequests.decrementAndGet();
+                this.sendPendingRequests();
+
+                if (throwable != null) {
+                    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                    pendingRequest.future.completeExceptionally(new AuthenticationFailedException(cause));
+                } else {
+                    pendingRequest.future.complete(response);
+                }
+            });
+        }
+    }
+
+    private @NotNull HttpResponse<String> sendBlocking(@NotNull PendingRequest pendingRequest, @NotNull Proxy proxy) {
+        HttpRequest request = pendingRequest.request;
+        try {
+            HttpURLConnection connection = (HttpURLConnection) request.uri().toURL().openConnection(proxy);
+            connection.setConnectTimeout((int) this.connectTimeout.toMillis());
+            connection.setReadTimeout((int) this.requestTimeout.toMillis());
+            connection.setUseCaches(false);
+            connection.setRequestMethod(request.method());
+            request.headers().map().forEach((name, values) -> values.forEach(value -> connection.addRequestProperty(name, value)));
+
+            try {
+                if (pendingRequest.body != null) {
+                    connection.setDoOutput(true);
+                    try (OutputStream stream = connection.getOutputStream()) {
+                        stream.write(pendingRequest.body.getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+
+                int statusCode = connection.getResponseCode();
+                String body;
+                try (InputStream stream = statusCode < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                    body = stream == null ? "" : new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+                }
+
+                Map<String, List<String>> headers = new HashMap<>(connection.getHeaderFields());
+                // the status line is stored without a name
+                headers.remove(null);
+                return new BlockingResponse(request, statusCode, HttpHeaders.of(headers, (name, value) -> true), body);
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException exception) {
+            throw new CompletionException(exception);
+        }
+    }
+
+    private @NotNull HttpClient createHttpClient(@Nullable Proxy proxy) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(this.connectTimeout);
+
+        if (proxy == null || proxy.type() == Proxy.Type.DIRECT) {
+            builder.proxy(HttpClient.Builder.NO_PROXY);
+        } else {
+            Preconditions.checkArgument(proxy.address() instanceof InetSocketAddress, "Unsupported proxy address of %s", proxy);
+            builder.proxy(ProxySelector.of((InetSocketAddress) proxy.address()));
+        }
+
+        return builder.build();
+    }
+
+    private static final class PendingRequest {
+
+        private final HttpRequest request;
+        private final String body;
+        private final CompletableFuture<HttpResponse<String>> future = new CompletableFuture<>();
+
+        private PendingRequest(HttpRequest request, String body) {
+            this.request = request;
+            this.body = body;
+        }
+    }
+
+    private static final class BlockingResponse implements HttpResponse<String> {
+
+        private final HttpRequest request;
+        private final int statusCode;
+        private final HttpHeaders headers;
+        private final String body;
+
+        private BlockingResponse(HttpRequest request, int statusCode, HttpHeaders headers, String body) {
+            this.request = request;
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public int statusCode() {
+            return this.statusCode;
+        }
+
+        @Override
+        public HttpRequest request() {
+            return this.request;
+        }
+
+        @Override
+        public Optional<HttpResponse<String>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return this.headers;
+        }
+
+        @Override
+        public String body() {
+            return this.body;
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        @Override
+        public URI uri() {
+            return this.request.uri();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_1_1;
+        }
+    }
+}
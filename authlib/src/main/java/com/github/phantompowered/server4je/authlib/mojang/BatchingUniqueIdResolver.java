@@ -0,0 +1,254 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.authlib.mojang;
+
+import com.github.phantompowered.server4je.authlib.exception.AuthenticationFailedException;
+import com.github.phantompowered.server4je.authlib.gson.UniqueIdExtractor;
+import com.github.phantompowered.server4je.authlib.http.MojangHttpClient;
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonArray;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the unique ids of user names using the bulk profile endpoint. Lookups are collected for a short
+ * window and sent in batches of up to {@link #BATCH_SIZE} names, every caller gets its own result.
+ *
+ * <p>The batches are sent at most once per send interval. A rate limited batch is sent again after a backoff,
+ * which doubles for every retry unless the response tells how long to wait, and pauses all other batches too.</p>
+ */
+public class BatchingUniqueIdResolver {
+
+    public static final int BATCH_SIZE = 10;
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(50);
+    public static final Duration DEFAULT_SEND_INTERVAL = Duration.ofMillis(200);
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(1);
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    private static final String BULK_LOOKUP_URL = "https://api.mojang.com/profiles/minecraft";
+    private static final int TOO_MANY_REQUESTS = 429;
+    // the whole batch is rejected if one of the names is invalid
+    private static final Pattern VALID_NAME = Pattern.compile("[a-zA-Z0-9_]{1,16}");
+
+    private final MojangHttpClient httpClient;
+    private final String lookupUrl;
+    private final long windowMillis;
+    private final long sendIntervalNanos;
+    private final long initialBackoffNanos;
+    private final int maxRetries;
+    private final Map<String, CompletableFuture<Optional<UUID>>> pending = new LinkedHashMap<>();
+
+    private boolean flushScheduled;
+    private long nextSendNanos = System.nanoTime();
+
+    public BatchingUniqueIdResolver(@NotNull MojangHttpClient httpClient) {
+        this(httpClient, BULK_LOOKUP_URL, DEFAULT_WINDOW);
+    }
+
+    public BatchingUniqueIdResolver(@NotNull MojangHttpClient httpClient, @NotNull String lookupUrl, @NotNull Duration window) {
+        this(httpClient, lookupUrl, window, DEFAULT_SEND_INTERVAL, DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_RETRIES);
+    }
+
+    public BatchingUniqueIdResolver(@NotNull MojangHttpClient httpClient, @NotNull String lookupUrl, @NotNull Duration window,
+                                    @NotNull Duration sendInterval, @NotNull Duration initialBackoff, int maxRetries) {
+        Preconditions.checkArgument(maxRetries >= 0, "Max retries must not be negative");
+
+        this.httpClient = httpClient;
+        this.lookupUrl = lookupUrl;
+        this.windowMillis = Math.max(0, window.toMillis());
+        this.sendIntervalNanos = Math.max(0, sendInterval.toNanos());
+        this.initialBackoffNanos = Math.max(0, initialBackoff.toNanos());
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * Resolves the unique id of the given user name. The returned future is completed once the batch containing
+     * the name was answered, exceptionally if the request failed.
+     *
+     * @param username the name to resolve, case insensitive.
+     * @return a future completed with the unique id or an empty optional if no user has the name.
+     */
+    @NotNull
+    public CompletableFuture<Optional<UUID>> resolve(@NotNull String username) {
+        if (!VALID_NAME.matcher(username).matches()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        String key = username.toLowerCase(Locale.ROOT);
+        Map<String, CompletableFuture<Optional<UUID>>> batch = null;
+        CompletableFuture<Optional<UUID>> future;
+
+        synchronized (this.pending) {
+            future = this.pending.get(key);
+            if (future != null) {
+                return future.copy();
+            }
+
+            future = new CompletableFuture<>();
+            this.pending.put(key, future);
+
+            if (this.pending.size() >= BATCH_SIZE) {
+                batch = this.takeBatch();
+            } else if (!this.flushScheduled) {
+                this.flushScheduled = true;
+                CompletableFuture.runAsync(this::flush, CompletableFuture.delayedExecutor(this.windowMillis, TimeUnit.MILLISECONDS));
+            }
+        }
+
+        if (batch != null) {
+            this.send(batch, 0);
+        }
+
+        return future.copy();
+    }
+
+    /**
+     * Resolves the unique ids of all given user names and waits for the results.
+     *
+     * @param usernames the names to resolve.
+     * @return the resolved unique ids as well as the unknown names and the names whose lookup failed.
+     */
+    @NotNull
+    public UniqueIdLookupResult resolveAll(@NotNull Collection<String> usernames) {
+        return UniqueIdLookupResult.collect(usernames, this::resolve);
+    }
+
+    private void flush() {
+        List<Map<String, CompletableFuture<Optional<UUID>>>> batches = new ArrayList<>();
+        synchronized (this.pending) {
+            this.flushScheduled = false;
+            while (!this.pending.isEmpty()) {
+                batches.add(this.takeBatch());
+            }
+        }
+
+        for (Map<String, CompletableFuture<Optional<UUID>>> batch : batches) {
+            this.send(batch, 0);
+        }
+    }
+
+    private @NotNull Map<String, CompletableFuture<Optional<UUID>>> takeBatch() {
+        Map<String, CompletableFuture<Optional<UUID>>> batch = new HashMap<>(BATCH_SIZE * 2);
+        Iterator<Map.Entry<String, CompletableFuture<Optional<UUID>>>> iterator = this.pending.entrySet().iterator();
+
+        while (iterator.hasNext() && batch.size() < BATCH_SIZE) {
+            Map.Entry<String, CompletableFuture<Optional<UUID>>> entry = iterator.next();
+            batch.put(entry.getKey(), entry.getValue());
+            iterator.remove();
+        }
+
+        return batch;
+    }
+
+    private void send(@NotNull Map<String, CompletableFuture<Optional<UUID>>> batch, int attempt) {
+        long delayNanos = this.reserveSendSlot(0);
+        if (delayNanos > 0) {
+            CompletableFuture.runAsync(() -> this.post(batch, attempt), CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS));
+        } else {
+            this.post(batch, attempt);
+        }
+    }
+
+    private void post(@NotNull Map<String, CompletableFuture<Optional<UUID>>> batch, int attempt) {
+        JsonArray names = new JsonArray(batch.size());
+        for (String name : batch.keySet()) {
+            names.add(name);
+        }
+
+        this.httpClient.post(this.lookupUrl, names.toString()).whenComplete((response, throwable) -> {
+            try {
+                if (throwable != null) {
+                    throw throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                }
+
+                if (response.statusCode() == TOO_MANY_REQUESTS && attempt < this.maxRetries) {
+                    this.retry(batch, attempt, response);
+                    return;
+                }
+
+                this.complete(batch, response);
+            } catch (Throwable exception) {
+                AuthenticationFailedException failure = exception instanceof AuthenticationFailedException
+                    ? (AuthenticationFailedException) exception
+                    : new AuthenticationFailedException(exception);
+                for (CompletableFuture<Optional<UUID>> future : batch.values()) {
+                    future.completeExceptionally(failure);
+                }
+            }
+        });
+    }
+
+    private void retry(@NotNull Map<String, CompletableFuture<Optional<UUID>>> batch, int attempt, @NotNull HttpResponse<String> response) {
+        long backoffNanos = response.headers().firstValue("Retry-After")
+            .map(BatchingUniqueIdResolver::parseRetryAfter)
+            .filter(retryAfterNanos -> retryAfterNanos >= 0)
+            .orElse(this.initialBackoffNanos << Math.min(attempt, 30));
+
+        // the rate limit applies to all batches, none of them is sent before the backoff passed
+        long delayNanos = this.reserveSendSlot(backoffNanos);
+        CompletableFuture.runAsync(() -> this.post(batch, attempt + 1), CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS));
+    }
+
+    private synchronized long reserveSendSlot(long minimumDelayNanos) {
+        long now = System.nanoTime();
+        long sendAt = Math.max(this.nextSendNanos, now + minimumDelayNanos);
+        this.nextSendNanos = sendAt + this.sendIntervalNanos;
+        return sendAt - now;
+    }
+
+    private void complete(@NotNull Map<String, CompletableFuture<Optional<UUID>>> batch, @NotNull HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            throw new AuthenticationFailedException("Bulk lookup failed with status " + response.statusCode());
+        }
+
+        UniqueIdExtractor.extractIds(response.body(), (name, uniqueId) -> {
+            CompletableFuture<Optional<UUID>> future = batch.get(name.toLowerCase(Locale.ROOT));
+            if (future != null) {
+                future.complete(Optional.of(uniqueId));
+            }
+        });
+
+        // names which are not part of the response are not taken
+        for (CompletableFuture<Optional<UUID>> future : batch.values()) {
+            future.complete(Optional.empty());
+        }
+    }
+
+    private static long parseRetryAfter(@NotNull String retryAfter) {
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException exception) {
+            // http dates are not used by the mojang api, fall back to the regular backoff
+            return -1;
+        }
+    }
+}
@@ -25,52 +25,101 @@
 package com.github.phantompowered.server4je.authlib.mojang;
 
 import com.github.phantompowered.server4je.authlib.MojangAPI;
-import com.github.phantompowered.server4je.authlib.gson.UniqueIdTypeAdapter;
-import com.github.phantompowered.server4je.authlib.profile.GameProfile;
+import com.github.phantompowered.server4je.authlib.cache.ProfileStore;
+import com.github.phantompowered.server4je.authlib.gson.UniqueIdExtractor;
+import com.github.phantompowered.server4je.authlib.http.MojangHttpClient;
 import com.github.phantompowered.server4je.authlib.session.DefaultSessionService;
-import com.google.gson.JsonParser;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public class DefaultMojangAPI extends DefaultSessionService implements MojangAPI {
 
     private static final String BASE_URL = "https://api.mojang.com/";
     private static final String NAME_TO_UNIQUE_ID_URL = BASE_URL + "users/profiles/minecraft/%s";
 
+    private final BatchingUniqueIdResolver uniqueIdResolver = new BatchingUniqueIdResolver(this.httpClient);
+
+    public DefaultMojangAPI() {
+    }
+
+    public DefaultMojangAPI(@NotNull Duration connectTimeout, @NotNull Duration requestTimeout, int maxConcurrentRequests) {
+        super(connectTimeout, requestTimeout, maxConcurrentRequests);
+    }
+
+    public DefaultMojangAPI(@NotNull MojangHttpClient httpClient) {
+        super(httpClient);
+    }
+
     @Override
     public @NotNull Optional<UUID> getPlayerUniqueId(@NotNull String username) {
-        return this.getPlayerUniqueIdAt0(username, -1);
+        return this.getPlayerUniqueIdAsync(username).join();
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Optional<UUID>> getPlayerUniqueIdAsync(@NotNull String username) {
+        return this.lookupPlayerUniqueId(username).exceptionally(throwable -> Optional.empty());
+    }
+
+    @Override
+    public @NotNull UniqueIdLookupResult getPlayerUniqueIds(@NotNull Collection<String> usernames) {
+        return UniqueIdLookupResult.collect(usernames, this::lookupPlayerUniqueId);
     }
 
     @Override
     public @NotNull Optional<UUID> getPlayerUniqueIdAt(@NotNull String username, @Range(from = 0, to = Long.MAX_VALUE) long timestamp) {
-        return this.getPlayerUniqueIdAt0(username, timestamp);
+        // historic lookups are rare and never cached
+        return this.getPlayerUniqueIdAt0(username, timestamp).exceptionally(throwable -> Optional.empty()).join();
     }
 
-    private @NotNull Optional<UUID> getPlayerUniqueIdAt0(@NotNull String username, long timestamp) {
+    private @NotNull CompletableFuture<Optional<UUID>> getPlayerUniqueIdAt0(@NotNull String username, long timestamp) {
         String payloadUrl = String.format(NAME_TO_UNIQUE_ID_URL, username);
         if (timestamp > -1) {
             payloadUrl += "?at=" + timestamp;
         }
 
-        try {
-            var object = JsonParser.parseString(this.get(payloadUrl)).getAsJsonObject();
-            if (object.has("id") && !object.get("id").isJsonNull()) {
-                return Optional.of(UniqueIdTypeAdapter.fromString(object.get("id").getAsString()));
-            }
+        return this.getAsync(payloadUrl).thenApply(response -> Optional.ofNullable(UniqueIdExtractor.extractId(response)));
+    }
+
+    private @NotNull CompletableFuture<Optional<UUID>> lookupPlayerUniqueId(@NotNull String username) {
+        return this.uniqueIdCache.get(toNameKey(username), this::loadPlayerUniqueId);
+    }
+
+    private @NotNull CompletableFuture<Optional<UUID>> loadPlayerUniqueId(@NotNull String username) {
+        ProfileStore profileStore = this.getProfileStore();
+        if (profileStore == null) {
+            return this.uniqueIdResolver.resolve(username);
+        }
 
-            return Optional.empty();
-        } catch (Throwable throwable) {
-            return Optional.empty();
+        UUID storedUniqueId = profileStore.getUniqueId(username);
+        if (storedUniqueId != null) {
+            return CompletableFuture.completedFuture(Optional.of(storedUniqueId));
         }
+
+        return this.uniqueIdResolver.resolve(username).thenApply(result -> {
+            result.ifPresent(uniqueId -> profileStore.storeUniqueId(username, uniqueId));
+            return result;
+        });
+    }
+
+    @NotNull
+    public BatchingUniqueIdResolver getUniqueIdResolver() {
+        return this.uniqueIdResolver;
     }
 
     @Override
     public @NotNull Optional<String> getPlayerName(@NotNull UUID uniqueId) {
-        GameProfile profile = this.getGameProfile(uniqueId, false);
-        return profile != null && profile.getName() != null ? Optional.of(profile.getName()) : Optional.empty();
+        return join(this.getPlayerNameAsync(uniqueId));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Optional<String>> getPlayerNameAsync(@NotNull UUID uniqueId) {
+        return this.getGameProfileAsync(uniqueId, false)
+            .thenApply(profile -> profile != null && profile.getName() != null ? Optional.of(profile.getName()) : Optional.empty());
     }
 }
@@ -0,0 +1,125 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.authlib.mojang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * The result of looking up the unique ids of multiple user names. Every name is either resolved, unknown or
+ * failed, all names are mapped as they were given.
+ */
+public final class UniqueIdLookupResult {
+
+    private final Map<String, UUID> uniqueIds;
+    private final Set<String> unknownNames;
+    private final Set<String> failedNames;
+
+    private UniqueIdLookupResult(Map<String, UUID> uniqueIds, Set<String> unknownNames, Set<String> failedNames) {
+        this.uniqueIds = Collections.unmodifiableMap(uniqueIds);
+        this.unknownNames = Collections.unmodifiableSet(unknownNames);
+        this.failedNames = Collections.unmodifiableSet(failedNames);
+    }
+
+    /**
+     * Looks up the unique ids of all given names and waits until all lookups are done.
+     *
+     * @param usernames the names to look up.
+     * @param lookup the function starting the lookup of one name.
+     * @return the result of all lookups.
+     */
+    @NotNull
+    public static UniqueIdLookupResult collect(@NotNull Collection<String> usernames,
+                                               @NotNull Function<String, CompletableFuture<Optional<UUID>>> lookup) {
+        Map<String, CompletableFuture<Optional<UUID>>> futures = new LinkedHashMap<>();
+        for (String username : usernames) {
+            futures.computeIfAbsent(username, lookup);
+        }
+
+        Map<String, UUID> uniqueIds = new LinkedHashMap<>();
+        Set<String> unknownNames = new LinkedHashSet<>();
+        Set<String> failedNames = new LinkedHashSet<>();
+
+        for (Map.Entry<String, CompletableFuture<Optional<UUID>>> entry : futures.entrySet()) {
+            try {
+                Optional<UUID> uniqueId = entry.getValue().join();
+                if (uniqueId.isPresent()) {
+                    uniqueIds.put(entry.getKey(), uniqueId.get());
+                } else {
+                    unknownNames.add(entry.getKey());
+                }
+            } catch (CompletionException exception) {
+                failedNames.add(entry.getKey());
+            }
+        }
+
+        return new UniqueIdLookupResult(uniqueIds, unknownNames, failedNames);
+    }
+
+    /**
+     * Get the unique ids which were resolved successfully.
+     *
+     * @return the resolved unique ids mapped by the name as given.
+     */
+    @NotNull
+    public Map<String, UUID> getUniqueIds() {
+        return this.uniqueIds;
+    }
+
+    /**
+     * Get the names which are not used by any user.
+     *
+     * @return the names no user has.
+     */
+    @NotNull
+    public Set<String> getUnknownNames() {
+        return this.unknownNames;
+    }
+
+    /**
+     * Get the names which could not be looked up because the request failed.
+     *
+     * @return the names which could not be looked up, looking them up later again may succeed.
+     */
+    @NotNull
+    public Set<String> getFailedNames() {
+        return this.failedNames;
+    }
+
+    public boolean hasFailures() {
+        return !this.failedNames.isEmpty();
+    }
+}
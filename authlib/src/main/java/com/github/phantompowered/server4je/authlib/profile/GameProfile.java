@@ -133,6 +133,10 @@ public class GameProfile implements PhantomPlayerProfile {
         return this.legacy;
     }
 
+    public void setLegacy(boolean legacy) {
+        this.legacy = legacy;
+    }
+
     public boolean isComplete() {
         return this.uniqueId != null && this.name != null && !this.name.isBlank();
     }
@@ -200,6 +204,19 @@ public class GameProfile implements PhantomPlayerProfile {
         this.properties.addAll(gameProfile.getProperties());
     }
 
+    /**
+     * Creates a copy of this profile. Changes to the copy, including its properties, are not visible in this
+     * profile and the other way round.
+     *
+     * @return a copy of this profile
+     */
+    public @NotNull GameProfile copy() {
+        GameProfile gameProfile = new GameProfile(this.uniqueId, this.name);
+        gameProfile.legacy = this.legacy;
+        gameProfile.properties.addAll(this.properties);
+        return gameProfile;
+    }
+
     @Override
     public @NotNull CompletableFuture<Boolean> completeFromCacheAsync() {
         return CompletableFuture.supplyAsync(this::completeFromCache);
@@ -27,27 +27,28 @@ package com.github.phantompowered.server4je.authlib.session;
 import com.destroystokyo.paper.profile.ProfileProperty;
 import com.github.phantompowered.server4je.authlib.SessionService;
 import com.github.phantompowered.server4je.authlib.exception.AuthenticationFailedException;
-import com.github.phantompowered.server4je.authlib.gson.PropertyMultimapSerializer;
+import com.github.phantompowered.server4je.authlib.gson.GameProfileTypeAdapter;
+import com.github.phantompowered.server4je.authlib.gson.PropertyMultimapTypeAdapter;
 import com.github.phantompowered.server4je.authlib.gson.UniqueIdTypeAdapter;
+import com.github.phantompowered.server4je.authlib.http.MojangHttpClient;
 import com.github.phantompowered.server4je.authlib.profile.GameProfile;
-import com.github.phantompowered.server4je.common.CommonConstants;
 import com.github.phantompowered.server4je.common.concurrent.Callback;
 import com.google.common.collect.Multimap;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.IOException;
-import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.Proxy;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public abstract class BaseSessionService implements SessionService {
 
@@ -55,36 +56,61 @@ public abstract class BaseSessionService implements SessionService {
     protected static final String HAS_JOINED_URL = BASE_URL + "hasJoined?username=%s&serverId=%s";
 
     protected final Gson gson = new GsonBuilder()
-        .registerTypeAdapter(TypeToken.getParameterized(Multimap.class, String.class, ProfileProperty.class).getType(), new PropertyMultimapSerializer())
+        .registerTypeAdapter(TypeToken.getParameterized(Multimap.class, String.class, ProfileProperty.class).getType(), new PropertyMultimapTypeAdapter())
+        .registerTypeAdapter(GameProfile.class, new GameProfileTypeAdapter())
         .registerTypeAdapter(UUID.class, new UniqueIdTypeAdapter())
         .create();
+    protected final MojangHttpClient httpClient;
 
     private Proxy proxy;
 
+    protected BaseSessionService() {
+        this(new MojangHttpClient());
+    }
+
+    protected BaseSessionService(@NotNull Duration connectTimeout, @NotNull Duration requestTimeout, int maxConcurrentRequests) {
+        this(new MojangHttpClient(connectTimeout, requestTimeout, maxConcurrentRequests));
+    }
+
+    protected BaseSessionService(@NotNull MojangHttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
     @Override
     public @NotNull Optional<GameProfile> hasJoinedServer(@NotNull GameProfile user, @NotNull String serverId, @Nullable InetAddress proxy) throws AuthenticationFailedException {
+        return this.hasJoinedServerAsync(user, serverId, proxy).join();
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Optional<GameProfile>> hasJoinedServerAsync(@NotNull GameProfile user, @NotNull String serverId, @Nullable InetAddress proxy) {
         String payloadUrl = String.format(HAS_JOINED_URL, user.getName(), serverId);
         if (proxy != null) {
             payloadUrl += "&ip=" + proxy.getHostAddress();
         }
 
-        try {
-            GameProfile gameProfile = this.gson.fromJson(this.get(payloadUrl), GameProfile.class);
-            return gameProfile != null && gameProfile.isComplete() ? Optional.of(gameProfile) : Optional.empty();
-        } catch (JsonSyntaxException | AuthenticationFailedException exception) {
-            exception.printStackTrace();
-            return Optional.empty();
-        }
+        return this.getAsync(payloadUrl).handle((response, throwable) -> {
+            if (throwable != null) {
+                throwable.printStackTrace();
+                return Optional.empty();
+            }
+
+            try {
+                GameProfile gameProfile = this.gson.fromJson(response, GameProfile.class);
+                return gameProfile != null && gameProfile.isComplete() ? Optional.of(gameProfile) : Optional.empty();
+            } catch (JsonParseException | IllegalArgumentException exception) {
+                exception.printStackTrace();
+                return Optional.empty();
+            }
+        });
     }
 
     @Override
     public void fillProfile(@NotNull GameProfile gameProfile, boolean requireSecure, @NotNull Callback<GameProfile> callback) {
-        CommonConstants.TASK_POOL.execute(() -> {
-            try {
-                GameProfile profile = this.fillProfile(gameProfile, requireSecure);
+        this.fillProfileAsync(gameProfile, requireSecure).whenComplete((profile, throwable) -> {
+            if (throwable != null) {
+                callback.done(gameProfile, unwrap(throwable));
+            } else {
                 callback.done(profile, null);
-            } catch (Throwable throwable) {
-                callback.done(gameProfile, throwable);
             }
         });
     }
@@ -96,29 +122,46 @@ public abstract class BaseSessionService implements SessionService {
 
     @Override
     public void setUsedProxy(@Nullable Proxy proxy) {
+        this.httpClient.setProxy(proxy);
         this.proxy = proxy;
     }
 
+    @NotNull
+    public MojangHttpClient getHttpClient() {
+        return this.httpClient;
+    }
+
     @NotNull
     protected String get(@NotNull String url) {
+        return join(this.getAsync(url));
+    }
+
+    @NotNull
+    protected CompletableFuture<String> getAsync(@NotNull String url) {
+        return this.httpClient.get(url).thenApply(BaseSessionService::readBody);
+    }
+
+    @NotNull
+    protected static String readBody(@NotNull HttpResponse<String> response) {
+        // rate limits and server errors are never a valid answer, everything else is up to the caller to interpret
+        if (response.statusCode() == 429 || response.statusCode() >= 500) {
+            throw new AuthenticationFailedException("Request to " + response.uri() + " failed with status " + response.statusCode());
+        }
+
+        return response.body() == null ? "" : response.body();
+    }
+
+    protected static <T> T join(@NotNull CompletableFuture<T> future) {
         try {
-            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection(this.proxy == null ? Proxy.NO_PROXY : this.proxy);
-            connection.setConnectTimeout(15000);
-            connection.setReadTimeout(15000);
-            connection.setUseCaches(false);
-            connection.connect(); // ensure
-
-            try (var stream = connection.getResponseCode() == 200 ? connection.getInputStream() : connection.getErrorStream()) {
-                if (stream == null) {
-                    throw new IOException("No data stream available");
-                }
-
-                return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
-            } finally {
-                connection.disconnect();
-            }
-        } catch (IOException exception) {
-            throw new AuthenticationFailedException(exception);
+            return future.join();
+        } catch (CompletionException exception) {
+            Throwable cause = unwrap(exception);
+            throw cause instanceof AuthenticationFailedException ? (AuthenticationFailedException) cause : new AuthenticationFailedException(cause);
         }
     }
+
+    @NotNull
+    protected static Throwable unwrap(@NotNull Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+    }
 }
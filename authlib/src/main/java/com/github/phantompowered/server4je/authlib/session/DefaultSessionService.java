@@ -24,29 +24,54 @@
  */
 package com.github.phantompowered.server4je.authlib.session;
 
+import com.destroystokyo.paper.profile.ProfileProperty;
+import com.github.phantompowered.server4je.authlib.cache.LookupCache;
+import com.github.phantompowered.server4je.authlib.cache.ProfileStore;
+import com.github.phantompowered.server4je.authlib.http.MojangHttpClient;
 import com.github.phantompowered.server4je.authlib.profile.GameProfile;
 import com.google.common.base.Preconditions;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 
 public class DefaultSessionService extends BaseSessionService {
 
     private static final String PROFILE_LOOKUP_URL = BaseSessionService.BASE_URL + "profile/%s?unsigned=%b";
 
-    private final LoadingCache<GameProfile, GameProfile> insecureProfileCache = CacheBuilder.newBuilder()
-        .expireAfterWrite(5, TimeUnit.HOURS)
-        .build(new CacheLoader<>() {
-            @Override
-            public GameProfile load(@NotNull GameProfile key) {
-                return DefaultSessionService.this.fillProfile0(key, false);
-            }
+    protected final LookupCache<UUID, GameProfile> profileCache = new LookupCache<>();
+    protected final LookupCache<UUID, GameProfile> secureProfileCache = new LookupCache<>();
+    protected final LookupCache<String, UUID> uniqueIdCache = new LookupCache<>();
+
+    private volatile ProfileStore profileStore;
+
+    public DefaultSessionService() {
+    }
+
+    public DefaultSessionService(@NotNull Duration connectTimeout, @NotNull Duration requestTimeout, int maxConcurrentRequests) {
+        super(connectTimeout, requestTimeout, maxConcurrentRequests);
+    }
+
+    public DefaultSessionService(@NotNull MojangHttpClient httpClient) {
+        super(httpClient);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Optional<GameProfile>> hasJoinedServerAsync(@NotNull GameProfile user, @NotNull String serverId, @Nullable InetAddress proxy) {
+        return super.hasJoinedServerAsync(user, serverId, proxy).thenApply(result -> {
+            result.ifPresent(profile -> {
+                this.uniqueIdCache.put(toNameKey(profile.getName()), Optional.ofNullable(profile.getId()));
+                this.storeProfile(profile);
+            });
+            return result;
         });
+    }
 
     @Override
     public @NotNull GameProfile fillProfile(@NotNull GameProfile gameProfile, boolean requireSecure) {
@@ -54,7 +79,52 @@ public class DefaultSessionService extends BaseSessionService {
             return gameProfile;
         }
 
-        return requireSecure ? this.fillProfile0(gameProfile, true) : this.insecureProfileCache.getUnchecked(gameProfile);
+        return this.fillProfile0(gameProfile, requireSecure);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<GameProfile> fillProfileAsync(@NotNull GameProfile gameProfile, boolean requireSecure) {
+        if (gameProfile.getId() == null) {
+            return CompletableFuture.completedFuture(gameProfile);
+        }
+
+        return this.getGameProfileAsync(gameProfile.getId(), requireSecure).thenApply(profile -> {
+            if (profile != null) {
+                gameProfile.override(profile);
+            }
+
+            return gameProfile;
+        });
+    }
+
+    @NotNull
+    public LookupCache<UUID, GameProfile> getProfileCache() {
+        return this.profileCache;
+    }
+
+    @NotNull
+    public LookupCache<UUID, GameProfile> getSecureProfileCache() {
+        return this.secureProfileCache;
+    }
+
+    @NotNull
+    public LookupCache<String, UUID> getUniqueIdCache() {
+        return this.uniqueIdCache;
+    }
+
+    @Nullable
+    public ProfileStore getProfileStore() {
+        return this.profileStore;
+    }
+
+    /**
+     * Sets the persistent store which is consulted before a profile or unique id lookup is sent to mojang and
+     * which gets all looked up profiles.
+     *
+     * @param profileStore the store to use or {@code null} to only use the in memory caches.
+     */
+    public void setProfileStore(@Nullable ProfileStore profileStore) {
+        this.profileStore = profileStore;
     }
 
     @NotNull
@@ -70,7 +140,84 @@ public class DefaultSessionService extends BaseSessionService {
     }
 
     protected @Nullable GameProfile getGameProfile(@NotNull UUID uniqueId, boolean requireSecure) {
+        return join(this.getGameProfileAsync(uniqueId, requireSecure));
+    }
+
+    protected @NotNull CompletableFuture<GameProfile> getGameProfileAsync(@NotNull UUID uniqueId, boolean requireSecure) {
+        // the cached profiles are shared between all callers, everyone gets an own copy to modify
+        if (!requireSecure) {
+            // a signed profile contains everything the unsigned one does
+            Optional<GameProfile> secureProfile = this.secureProfileCache.getIfPresent(uniqueId);
+            if (secureProfile != null && secureProfile.isPresent()) {
+                return CompletableFuture.completedFuture(secureProfile.get().copy());
+            }
+        }
+
+        LookupCache<UUID, GameProfile> cache = requireSecure ? this.secureProfileCache : this.profileCache;
+        return cache.get(uniqueId, key -> this.loadGameProfile(key, requireSecure)).thenApply(profile -> profile.map(GameProfile::copy).orElse(null));
+    }
+
+    protected @NotNull CompletableFuture<Optional<GameProfile>> loadGameProfile(@NotNull UUID uniqueId, boolean requireSecure) {
+        GameProfile storedProfile = this.getStoredProfile(uniqueId, requireSecure);
+        if (storedProfile != null) {
+            return CompletableFuture.completedFuture(Optional.of(storedProfile));
+        }
+
         String payloadUrl = String.format(PROFILE_LOOKUP_URL, uniqueId.toString().replace("-", ""), !requireSecure);
-        return this.gson.fromJson(this.get(payloadUrl), GameProfile.class);
+        return this.getAsync(payloadUrl).thenApply(response -> {
+            GameProfile profile = this.gson.fromJson(response, GameProfile.class);
+            if (profile == null || (profile.getId() == null && profile.getName() == null)) {
+                return Optional.empty();
+            }
+
+            if (profile.getId() == null) {
+                profile.setId(uniqueId);
+            }
+
+            if (profile.getName() != null) {
+                this.uniqueIdCache.put(toNameKey(profile.getName()), Optional.of(uniqueId));
+            }
+
+            this.storeProfile(profile);
+            return Optional.of(profile);
+        });
+    }
+
+    protected @Nullable GameProfile getStoredProfile(@NotNull UUID uniqueId, boolean requireSecure) {
+        ProfileStore profileStore = this.profileStore;
+        if (profileStore == null) {
+            return null;
+        }
+
+        String name = profileStore.getName(uniqueId);
+        Collection<ProfileProperty> textures = profileStore.getTextures(uniqueId);
+        if (name == null || textures == null) {
+            return null;
+        }
+
+        if (requireSecure) {
+            for (ProfileProperty texture : textures) {
+                if (!texture.isSigned()) {
+                    return null;
+                }
+            }
+        }
+
+        GameProfile profile = new GameProfile(uniqueId, name);
+        profile.setProperties(textures);
+        return profile;
+    }
+
+    protected void storeProfile(@NotNull GameProfile gameProfile) {
+        ProfileStore profileStore = this.profileStore;
+        if (profileStore != null) {
+            profileStore.storeProfile(gameProfile);
+        }
+    }
+
+    @NotNull
+    protected static String toNameKey(@NotNull String name) {
+        // user names are case insensitive
+        return name.toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,110 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.authlib.gson;
+
+import com.destroystokyo.paper.profile.ProfileProperty;
+import com.github.phantompowered.server4je.authlib.profile.GameProfile;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameProfileTypeAdapterTest {
+
+    private static final UUID UNIQUE_ID = UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6");
+    private static final String UNDASHED_ID = "853c80ef3c3749fdaa49938b674adae6";
+
+    private final Gson gson = new GsonBuilder().registerTypeAdapter(GameProfile.class, new GameProfileTypeAdapter()).create();
+
+    @Test
+    void readsSessionServerProfiles() {
+        GameProfile profile = this.gson.fromJson("{\"id\":\"" + UNDASHED_ID + "\",\"name\":\"jeb_\",\"properties\":["
+            + "{\"name\":\"textures\",\"value\":\"dGV4dHVyZXM=\",\"signature\":\"c2lnbmF0dXJl\"}]}", GameProfile.class);
+
+        assertNotNull(profile);
+        assertEquals(UNIQUE_ID, profile.getId());
+        assertEquals("jeb_", profile.getName());
+        assertFalse(profile.isLegacy());
+        assertEquals(1, profile.getProperties().size());
+
+        ProfileProperty property = profile.getProperties().iterator().next();
+        assertEquals("textures", property.getName());
+        assertEquals("dGV4dHVyZXM=", property.getValue());
+        assertEquals("c2lnbmF0dXJl", property.getSignature());
+    }
+
+    @Test
+    void readsDashedUniqueIdsAndTheLegacyFlag() {
+        GameProfile profile = this.gson.fromJson("{\"id\":\"" + UNIQUE_ID + "\",\"name\":\"jeb_\",\"legacy\":true}", GameProfile.class);
+
+        assertNotNull(profile);
+        assertEquals(UNIQUE_ID, profile.getId());
+        assertTrue(profile.isLegacy());
+        assertTrue(profile.getProperties().isEmpty());
+    }
+
+    @Test
+    void skipsUnknownFields() {
+        GameProfile profile = this.gson.fromJson("{\"profileActions\":[{\"action\":\"FORCED_NAME_CHANGE\"}],\"id\":\"" + UNDASHED_ID
+            + "\",\"legacy\":\"yes\",\"nested\":{\"id\":\"ignored\"},\"name\":\"jeb_\"}", GameProfile.class);
+
+        assertNotNull(profile);
+        assertEquals(UNIQUE_ID, profile.getId());
+        assertEquals("jeb_", profile.getName());
+        assertFalse(profile.isLegacy());
+    }
+
+    @Test
+    void readsErrorResponsesAsNull() {
+        assertNull(this.gson.fromJson("{\"error\":\"TooManyRequestsException\",\"errorMessage\":\"The client has sent too many requests\"}", GameProfile.class));
+        assertNull(this.gson.fromJson("{\"id\":null,\"name\":\" \"}", GameProfile.class));
+        assertNull(this.gson.fromJson("[]", GameProfile.class));
+    }
+
+    @Test
+    void readsWhatItWrites() {
+        GameProfile profile = new GameProfile(UNIQUE_ID, "jeb_");
+        profile.setLegacy(true);
+        profile.setProperty(new ProfileProperty("textures", "dGV4dHVyZXM=", "c2lnbmF0dXJl"));
+
+        String json = this.gson.toJson(profile);
+        assertTrue(json.contains("\"id\":\"" + UNDASHED_ID + "\""));
+
+        GameProfile read = this.gson.fromJson(json, GameProfile.class);
+        assertNotNull(read);
+        assertEquals(UNIQUE_ID, read.getId());
+        assertEquals("jeb_", read.getName());
+        assertTrue(read.isLegacy());
+        assertEquals(1, read.getProperties().size());
+        assertEquals("c2lnbmF0dXJl", read.getProperties().iterator().next().getSignature());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.authlib.gson;
+
+import com.destroystokyo.paper.profile.ProfileProperty;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Multimap;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PropertyMultimapTypeAdapterTest {
+
+    private static final Type PROPERTIES_TYPE = TypeToken.getParameterized(Multimap.class, String.class, ProfileProperty.class).getType();
+
+    private final Gson gson = new GsonBuilder().registerTypeAdapter(PROPERTIES_TYPE, new PropertyMultimapTypeAdapter()).create();
+
+    @Test
+    void readsTheArrayForm() {
+        Multimap<String, ProfileProperty> properties = this.read("[{\"name\":\"textures\",\"value\":\"a\",\"signature\":\"b\"},"
+            + "{\"name\":\"textures\",\"value\":\"c\"},{\"name\":\"other\",\"value\":\"d\"}]");
+
+        assertEquals(3, properties.size());
+        List<ProfileProperty> textures = new ArrayList<>(properties.get("textures"));
+        assertEquals(2, textures.size());
+        assertEquals("a", textures.get(0).getValue());
+        assertEquals("b", textures.get(0).getSignature());
+        assertEquals("c", textures.get(1).getValue());
+        assertFalse(textures.get(1).isSigned());
+        assertEquals("d", properties.get("other").iterator().next().getValue());
+    }
+
+    @Test
+    void readsTheLegacyObjectForm() {
+        Multimap<String, ProfileProperty> properties = this.read("{\"textures\":[\"a\",\"b\"],\"other\":[\"c\"]}");
+
+        assertEquals(3, properties.size());
+        List<ProfileProperty> textures = new ArrayList<>(properties.get("textures"));
+        assertEquals("a", textures.get(0).getValue());
+        assertEquals("b", textures.get(1).getValue());
+        assertFalse(textures.get(0).isSigned());
+        assertEquals("c", properties.get("other").iterator().next().getValue());
+    }
+
+    @Test
+    void skipsInvalidEntries() {
+        assertTrue(this.read("[{\"name\":\"textures\"},{\"value\":\"a\"},\"textures\",null,{\"name\":null,\"value\":\"b\"}]").isEmpty());
+        assertTrue(this.read("{\"textures\":\"a\",\"other\":[1,{\"value\":\"b\"}]}").isEmpty());
+        assertTrue(this.read("\"textures\"").isEmpty());
+    }
+
+    @Test
+    void writesTheArrayForm() {
+        Multimap<String, ProfileProperty> properties = LinkedHashMultimap.create();
+        properties.put("textures", new ProfileProperty("textures", "a", "b"));
+        properties.put("other", new ProfileProperty("other", "c"));
+
+        String json = this.gson.toJson(properties, PROPERTIES_TYPE);
+        assertEquals("[{\"name\":\"textures\",\"value\":\"a\",\"signature\":\"b\"},{\"name\":\"other\",\"value\":\"c\"}]", json);
+
+        Multimap<String, ProfileProperty> read = this.read(json);
+        assertEquals(2, read.size());
+        assertEquals("b", read.get("textures").iterator().next().getSignature());
+        assertNull(read.get("other").iterator().next().getSignature());
+    }
+
+    private Multimap<String, ProfileProperty> read(String json) {
+        return this.gson.fromJson(json, PROPERTIES_TYPE);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.authlib.gson;
+
+import com.google.gson.JsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UniqueIdExtractorTest {
+
+    private static final UUID JEB = UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6");
+    private static final UUID DINNERBONE = UUID.fromString("61699b2e-d327-4a01-9f1e-0ea8c3f06bc6");
+
+    @Test
+    void extractsTheIdOfAProfile() {
+        assertEquals(JEB, UniqueIdExtractor.extractId("{\"name\":\"jeb_\",\"legacy\":false,\"id\":\"853c80ef3c3749fdaa49938b674adae6\"}"));
+        assertEquals(JEB, UniqueIdExtractor.extractId("{\"properties\":[{\"id\":\"nested\"}],\"id\":\"853c80ef-3c37-49fd-aa49-938b674adae6\"}"));
+    }
+
+    @Test
+    void extractsNothingFromEmptyOrUnexpectedDocuments() {
+        assertNull(UniqueIdExtractor.extractId(""));
+        assertNull(UniqueIdExtractor.extractId("  "));
+        assertNull(UniqueIdExtractor.extractId("[]"));
+        assertNull(UniqueIdExtractor.extractId("{\"name\":\"jeb_\"}"));
+        assertNull(UniqueIdExtractor.extractId("{\"id\":null}"));
+    }
+
+    @Test
+    void rejectsMalformedDocuments() {
+        assertThrows(JsonParseException.class, () -> UniqueIdExtractor.extractId("{\"id\":"));
+        assertThrows(JsonParseException.class, () -> UniqueIdExtractor.extractIds("[{\"name\":\"jeb_\"", (name, uniqueId) -> {
+        }));
+    }
+
+    @Test
+    void extractsTheIdsOfABulkResponse() {
+        Map<String, UUID> uniqueIds = new LinkedHashMap<>();
+        UniqueIdExtractor.extractIds("[{\"id\":\"853c80ef3c3749fdaa49938b674adae6\",\"name\":\"jeb_\"},"
+            + "{\"name\":\"Dinnerbone\",\"legacy\":true,\"id\":\"61699b2ed3274a019f1e0ea8c3f06bc6\"},"
+            + "{\"name\":\"incomplete\"},\"unexpected\",{\"id\":5,\"name\":\"invalid\"}]", uniqueIds::put);
+
+        assertEquals(2, uniqueIds.size());
+        assertEquals(JEB, uniqueIds.get("jeb_"));
+        assertEquals(DINNERBONE, uniqueIds.get("Dinnerbone"));
+    }
+
+    @Test
+    void extractsNothingFromAnUnexpectedBulkResponse() {
+        Map<String, UUID> uniqueIds = new LinkedHashMap<>();
+        UniqueIdExtractor.extractIds("", uniqueIds::put);
+        UniqueIdExtractor.extractIds("{\"error\":\"IllegalArgumentException\"}", uniqueIds::put);
+
+        assertTrue(uniqueIds.isEmpty());
+    }
+
+    @Test
+    void writesAndParsesUndashedUniqueIds() {
+        assertEquals("853c80ef3c3749fdaa49938b674adae6", UniqueIdTypeAdapter.toUndashedString(JEB));
+        assertEquals(JEB, UniqueIdTypeAdapter.fromString(UniqueIdTypeAdapter.toUndashedString(JEB)));
+        assertThrows(IllegalArgumentException.class, () -> UniqueIdTypeAdapter.fromString("853c80ef3c3749fdaa49938b674adaeX"));
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.authlib.http;
+
+import com.github.phantompowered.server4je.authlib.exception.AuthenticationFailedException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ServerSocket;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MojangHttpClientTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final AtomicInteger maxActiveRequests = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String baseUrl;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.serverExecutor = Executors.newCachedThreadPool();
+        this.server.setExecutor(this.serverExecutor);
+        this.server.createContext("/ok", exchange -> respond(exchange, 200, "ok"));
+        this.server.createContext("/echo", exchange -> respond(exchange, 200, new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+        this.server.createContext("/blocking", exchange -> {
+            int active = this.activeRequests.incrementAndGet();
+            this.maxActiveRequests.accumulateAndGet(active, Math::max);
+            try {
+                this.release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } finally {
+                this.activeRequests.decrementAndGet();
+            }
+
+            respond(exchange, 200, "released");
+        });
+        this.server.start();
+
+        this.baseUrl = "http://" + this.server.getAddress().getHostString() + ":" + this.server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        this.release.countDown();
+        this.server.stop(0);
+        this.serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void sendsGetAndPostRequests() {
+        MojangHttpClient client = new MojangHttpClient();
+
+        HttpResponse<String> get = client.get(this.baseUrl + "/ok").join();
+        assertEquals(200, get.statusCode());
+        assertEquals("ok", get.body());
+
+        HttpResponse<String> post = client.post(this.baseUrl + "/echo", "[\"jeb_\"]").join();
+        assertEquals(200, post.statusCode());
+        assertEquals("[\"jeb_\"]", post.body());
+    }
+
+    @Test
+    void limitsConcurrentRequests() throws InterruptedException {
+        MojangHttpClient client = new MojangHttpClient(Duration.ofSeconds(5), Duration.ofSeconds(10), 2);
+
+        List<CompletableFuture<HttpResponse<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(client.get(this.baseUrl + "/blocking"));
+        }
+
+        waitFor(() -> this.activeRequests.get() == 2);
+        // give a request which was sent even though the limit is reached the chance to arrive
+        Thread.sleep(200);
+        assertEquals(2, this.activeRequests.get());
+        assertEquals(2, client.getRunningRequests());
+        assertEquals(3, client.getQueuedRequests());
+
+        this.release.countDown();
+        for (CompletableFuture<HttpResponse<String>> future : futures) {
+            assertEquals("released", future.join().body());
+        }
+
+        assertEquals(2, this.maxActiveRequests.get());
+        assertEquals(0, client.getRunningRequests());
+        assertEquals(0, client.getQueuedRequests());
+    }
+
+    @Test
+    void failsRequestsAfterTheRequestTimeout() throws InterruptedException {
+        MojangHttpClient client = new MojangHttpClient(Duration.ofSeconds(5), Duration.ofMillis(200), 1);
+
+        CompletableFuture<HttpResponse<String>> future = client.get(this.baseUrl + "/blocking");
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertTrue(exception.getCause() instanceof AuthenticationFailedException);
+        assertTrue(exception.getCause().getCause() instanceof HttpTimeoutException);
+
+        // the timed out request gives its slot to the next one
+        waitFor(() -> client.getRunningRequests() == 0);
+        this.release.countDown();
+        assertEquals("ok", client.get(this.baseUrl + "/ok").join().body());
+    }
+
+    @Test
+    void sendsRequestsThroughSocksProxiesUsingBlockingConnections() throws IOException {
+        MojangHttpClient client = new MojangHttpClient(Duration.ofSeconds(1), Duration.ofSeconds(1), 1);
+
+        int unusedPort;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            unusedPort = socket.getLocalPort();
+        }
+
+        client.setProxy(new Proxy(Proxy.Type.SOCKS, new InetSocketAddress(InetAddress.getLoopbackAddress(), unusedPort)));
+        CompletionException exception = assertThrows(CompletionException.class, () -> client.get(this.baseUrl + "/ok").join());
+        assertTrue(exception.getCause() instanceof AuthenticationFailedException);
+        assertTrue(exception.getCause().getCause() instanceof IOException);
+
+        client.setProxy(null);
+        assertEquals("ok", client.get(this.baseUrl + "/ok").join().body());
+    }
+
+    static void respond(HttpExchange exchange, int statusCode, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(statusCode, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(bytes);
+        }
+    }
+
+    private static void waitFor(Condition condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.test()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition was not met in time");
+            }
+
+            Thread.sleep(10);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+
+        boolean test();
+    }
+}
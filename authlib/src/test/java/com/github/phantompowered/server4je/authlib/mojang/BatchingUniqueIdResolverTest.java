@@ -0,0 +1,222 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.authlib.mojang;
+
+import com.github.phantompowered.server4je.authlib.http.MojangHttpClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchingUniqueIdResolverTest {
+
+    private static final Pattern NAME = Pattern.compile("\"([^\"]+)\"");
+    private static final Duration WINDOW = Duration.ofMillis(20);
+
+    private final Map<String, UUID> knownNames = new ConcurrentHashMap<>();
+    private final List<Long> requestNanos = new CopyOnWriteArrayList<>();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    // the status codes answered before the lookup is answered normally
+    private final List<Integer> failures = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger rateLimitedRequests = new AtomicInteger();
+
+    private HttpServer server;
+    private String lookupUrl;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/profiles/minecraft", this::lookup);
+        this.server.start();
+
+        this.lookupUrl = "http://" + this.server.getAddress().getHostString() + ":" + this.server.getAddress().getPort() + "/profiles/minecraft";
+    }
+
+    @AfterEach
+    void stopServer() {
+        this.server.stop(0);
+    }
+
+    @Test
+    void resolvesNamesInBatches() {
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < 12; i++) {
+            String name = "Player" + i;
+            names.add(name);
+            if (i % 2 == 0) {
+                this.knownNames.put(name.toLowerCase(), UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+
+        UniqueIdLookupResult result = this.newResolver(Duration.ZERO, Duration.ZERO, 0).resolveAll(names);
+
+        assertEquals(6, result.getUniqueIds().size());
+        assertEquals(6, result.getUnknownNames().size());
+        assertFalse(result.hasFailures());
+        for (Map.Entry<String, UUID> entry : result.getUniqueIds().entrySet()) {
+            assertEquals(this.knownNames.get(entry.getKey().toLowerCase()), entry.getValue());
+        }
+
+        assertEquals(12, this.batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(this.batchSizes.stream().allMatch(size -> size <= BatchingUniqueIdResolver.BATCH_SIZE));
+    }
+
+    @Test
+    void doesNotSendInvalidNames() {
+        UniqueIdLookupResult result = this.newResolver(Duration.ZERO, Duration.ZERO, 0).resolveAll(Arrays.asList("not a name", "WayTooLongForAMinecraftName"));
+
+        assertEquals(2, result.getUnknownNames().size());
+        assertTrue(this.requestNanos.isEmpty());
+    }
+
+    @Test
+    void retriesRateLimitedBatchesAfterTheBackoff() {
+        this.knownNames.put("jeb_", UUID.randomUUID());
+        this.failures.add(429);
+        this.failures.add(429);
+
+        long start = System.nanoTime();
+        UniqueIdLookupResult result = this.newResolver(Duration.ZERO, Duration.ofMillis(100), 3).resolveAll(Collections.singleton("jeb_"));
+
+        assertEquals(this.knownNames.get("jeb_"), result.getUniqueIds().get("jeb_"));
+        assertEquals(3, this.requestNanos.size());
+        assertEquals(2, this.rateLimitedRequests.get());
+        // the backoff doubles, 100ms before the second and 200ms before the third attempt
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(300));
+    }
+
+    @Test
+    void reportsNamesOfFailedBatches() {
+        this.knownNames.put("jeb_", UUID.randomUUID());
+        this.failures.add(429);
+        this.failures.add(429);
+
+        UniqueIdLookupResult result = this.newResolver(Duration.ZERO, Duration.ofMillis(10), 1).resolveAll(Arrays.asList("jeb_", "Dinnerbone"));
+
+        assertTrue(result.hasFailures());
+        assertEquals(new HashSet<>(Arrays.asList("jeb_", "Dinnerbone")), result.getFailedNames());
+        assertTrue(result.getUniqueIds().isEmpty());
+        assertEquals(2, this.requestNanos.size());
+    }
+
+    @Test
+    void reportsNamesOfServerErrors() {
+        this.failures.add(503);
+
+        UniqueIdLookupResult result = this.newResolver(Duration.ZERO, Duration.ofMillis(10), 3).resolveAll(Collections.singleton("jeb_"));
+
+        assertEquals(Collections.singleton("jeb_"), result.getFailedNames());
+        // only rate limits are retried
+        assertEquals(1, this.requestNanos.size());
+    }
+
+    @Test
+    void pacesTheBatches() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            names.add("Player" + i);
+        }
+
+        this.newResolver(Duration.ofMillis(100), Duration.ZERO, 0).resolveAll(names);
+
+        assertEquals(3, this.requestNanos.size());
+        List<Long> sorted = new ArrayList<>(this.requestNanos);
+        Collections.sort(sorted);
+        for (int i = 1; i < sorted.size(); i++) {
+            // allow some scheduling inaccuracy of the delayed executor
+            assertTrue(sorted.get(i) - sorted.get(i - 1) >= TimeUnit.MILLISECONDS.toNanos(90));
+        }
+    }
+
+    private BatchingUniqueIdResolver newResolver(Duration sendInterval, Duration initialBackoff, int maxRetries) {
+        return new BatchingUniqueIdResolver(new MojangHttpClient(), this.lookupUrl, WINDOW, sendInterval, initialBackoff, maxRetries);
+    }
+
+    private void lookup(HttpExchange exchange) throws IOException {
+        this.requestNanos.add(System.nanoTime());
+
+        Integer failure = this.failures.isEmpty() ? null : this.failures.remove(0);
+        if (failure != null) {
+            if (failure == 429) {
+                this.rateLimitedRequests.incrementAndGet();
+            }
+
+            exchange.sendResponseHeaders(failure, -1);
+            exchange.close();
+            return;
+        }
+
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        StringBuilder response = new StringBuilder("[");
+        int names = 0;
+
+        Matcher matcher = NAME.matcher(body);
+        while (matcher.find()) {
+            names++;
+            UUID uniqueId = this.knownNames.get(matcher.group(1).toLowerCase());
+            if (uniqueId != null) {
+                if (response.length() > 1) {
+                    response.append(',');
+                }
+
+                response.append("{\"id\":\"").append(uniqueId.toString().replace("-", ""))
+                    .append("\",\"name\":\"").append(matcher.group(1)).append("\"}");
+            }
+        }
+
+        this.batchSizes.add(names);
+        byte[] bytes = response.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(bytes);
+        }
+    }
+}
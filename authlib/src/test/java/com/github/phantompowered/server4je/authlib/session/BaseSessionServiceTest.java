@@ -0,0 +1,109 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.authlib.session;
+
+import com.github.phantompowered.server4je.authlib.exception.AuthenticationFailedException;
+import com.github.phantompowered.server4je.authlib.http.MojangHttpClient;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BaseSessionServiceTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private BaseSessionService sessionService;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/status/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            int statusCode = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+            byte[] body = statusCode == 204 ? new byte[0] : ("status " + statusCode).getBytes(StandardCharsets.UTF_8);
+
+            exchange.sendResponseHeaders(statusCode, body.length == 0 ? -1 : body.length);
+            try (OutputStream stream = exchange.getResponseBody()) {
+                stream.write(body);
+            }
+        });
+        this.server.start();
+
+        this.baseUrl = "http://" + this.server.getAddress().getHostString() + ":" + this.server.getAddress().getPort();
+        this.sessionService = new DefaultSessionService(new MojangHttpClient());
+    }
+
+    @AfterEach
+    void stopServer() {
+        this.server.stop(0);
+    }
+
+    @Test
+    void returnsTheBodyOfSuccessfulResponses() {
+        assertEquals("status 200", this.sessionService.getAsync(this.baseUrl + "/status/200").join());
+        assertEquals("", this.sessionService.getAsync(this.baseUrl + "/status/204").join());
+    }
+
+    @Test
+    void leavesClientErrorsToTheCaller() {
+        assertEquals("status 404", this.sessionService.getAsync(this.baseUrl + "/status/404").join());
+    }
+
+    @Test
+    void failsOnRateLimits() {
+        this.assertFails(429);
+    }
+
+    @Test
+    void failsOnServerErrors() {
+        this.assertFails(500);
+        this.assertFails(503);
+    }
+
+    @Test
+    void blockingGetThrowsTheAuthenticationFailure() {
+        assertThrows(AuthenticationFailedException.class, () -> this.sessionService.get(this.baseUrl + "/status/502"));
+    }
+
+    private void assertFails(int statusCode) {
+        CompletionException exception = assertThrows(
+            CompletionException.class,
+            () -> this.sessionService.getAsync(this.baseUrl + "/status/" + statusCode).join()
+        );
+        assertTrue(exception.getCause() instanceof AuthenticationFailedException);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.authlib.session;
+
+import com.destroystokyo.paper.profile.ProfileProperty;
+import com.github.phantompowered.server4je.authlib.profile.GameProfile;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DefaultSessionServiceTest {
+
+    private static final UUID UNIQUE_ID = UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6");
+
+    private final CountingSessionService sessionService = new CountingSessionService();
+
+    @Test
+    void loadsEveryProfileOnce() {
+        assertEquals("jeb_", this.sessionService.getGameProfile(UNIQUE_ID, false).getName());
+        assertEquals("jeb_", this.sessionService.getGameProfile(UNIQUE_ID, false).getName());
+        assertEquals(1, this.sessionService.lookups.get());
+    }
+
+    @Test
+    void returnsCopiesOfCachedProfiles() {
+        GameProfile first = this.sessionService.getGameProfile(UNIQUE_ID, false);
+        first.setName("changed");
+        first.setLegacy(true);
+        first.clearProperties();
+        first.setProperty(new ProfileProperty("other", "value"));
+
+        GameProfile second = this.sessionService.getGameProfile(UNIQUE_ID, false);
+        assertNotSame(first, second);
+        assertEquals("jeb_", second.getName());
+        assertEquals(1, second.getProperties().size());
+        assertTrue(second.hasTextures());
+        assertFalse(second.isLegacy());
+        assertEquals(1, this.sessionService.lookups.get());
+    }
+
+    @Test
+    void returnsCopiesOfSecureProfilesForUnsignedLookups() {
+        GameProfile secure = this.sessionService.getGameProfile(UNIQUE_ID, true);
+        secure.clearProperties();
+
+        GameProfile unsigned = this.sessionService.getGameProfile(UNIQUE_ID, false);
+        assertNotSame(secure, unsigned);
+        assertTrue(unsigned.hasTextures());
+        assertEquals(1, this.sessionService.lookups.get());
+    }
+
+    @Test
+    void fillsProfilesWithoutSharingTheCachedOne() {
+        GameProfile gameProfile = new GameProfile(UNIQUE_ID, null);
+        this.sessionService.fillProfile(gameProfile, false);
+        assertEquals("jeb_", gameProfile.getName());
+
+        gameProfile.clearProperties();
+        assertTrue(this.sessionService.fillProfile(new GameProfile(UNIQUE_ID, null), false).hasTextures());
+    }
+
+    @Test
+    void returnsNullForUnknownProfiles() {
+        assertNull(this.sessionService.getGameProfile(UUID.randomUUID(), false));
+    }
+
+    private static final class CountingSessionService extends DefaultSessionService {
+
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        @Override
+        protected @NotNull CompletableFuture<Optional<GameProfile>> loadGameProfile(@NotNull UUID uniqueId, boolean requireSecure) {
+            this.lookups.incrementAndGet();
+            if (!uniqueId.equals(UNIQUE_ID)) {
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+
+            GameProfile gameProfile = new GameProfile(uniqueId, "jeb_");
+            gameProfile.setProperty(new ProfileProperty("textures", "dGV4dHVyZXM=", requireSecure ? "c2lnbmF0dXJl" : null));
+            return CompletableFuture.completedFuture(Optional.of(gameProfile));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.benchmarks.authlib;
+
+import com.destroystokyo.paper.profile.ProfileProperty;
+import com.github.phantompowered.server4je.authlib.gson.GameProfileTypeAdapter;
+import com.github.phantompowered.server4je.authlib.gson.PropertyMultimapTypeAdapter;
+import com.github.phantompowered.server4je.authlib.gson.UniqueIdExtractor;
+import com.github.phantompowered.server4je.authlib.gson.UniqueIdTypeAdapter;
+import com.github.phantompowered.server4je.authlib.profile.GameProfile;
+import com.google.common.collect.Multimap;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming adapters with the way the authlib parsed session server responses before: game profiles
+ * were bound reflectively, unique id lookups were read from a json tree.
+ *
+ * <p>Run with {@code java -jar benchmarks/target/benchmarks.jar ProfileParsingBenchmark -prof gc} and compare the
+ * {@code gc.alloc.rate.norm} column, which is the number of bytes allocated per parsed profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfileParsingBenchmark {
+
+    private static final String PROFILE = "{\"id\":\"853c80ef3c3749fdaa49938b674adae6\",\"name\":\"jeb_\",\"properties\":[{\"name\":\"textures\","
+        + "\"value\":\"ewogICJ0aW1lc3RhbXAiIDogMTYwMjkwMDAwMDAwMCwKICAicHJvZmlsZUlkIiA6ICI4NTNjODBlZjNjMzc0OWZkYWE0OTkzOGI2NzRhZGFlNiIsCiAgInByb2Z"
+        + "pbGVOYW1lIiA6ICJqZWJfIiwKICAidGV4dHVyZXMiIDogewogICAgIlNLSU4iIDogewogICAgICAidXJsIiA6ICJodHRwOi8vdGV4dHVyZXMubWluZWNyYWZ0Lm5ldC90ZXh0dXJlL"
+        + "zdmZDlmYTc4NjE2YjQ0MDcwZTNjZDEwNDM5YjQxYmE0YTY2ZmUyMTZjMjVlOTk2MjM0MTY0Njg5MjJkZmQ2NCIKICAgIH0KICB9Cn0=\",\"signature\":\"TFpvRmZ6b3V1"
+        + "cUJzbFdHbUo0eEx2bXhUZ3pWbVVuUkNCM0VndGFOWkVqaGtmQzJhdEx4dWN5TmZkcGRqZmV2cU5qZ3J0dHlEVmZ3dGtDTnlZaVc0YkZ3dmJZZkd0Zk5rS0pq\"}]}";
+    private static final String UNIQUE_ID = "{\"id\":\"853c80ef3c3749fdaa49938b674adae6\",\"name\":\"jeb_\"}";
+    private static final String UNIQUE_IDS = "[{\"id\":\"853c80ef3c3749fdaa49938b674adae6\",\"name\":\"jeb_\"},"
+        + "{\"id\":\"61699b2ed3274a019f1e0ea8c3f06bc6\",\"name\":\"Dinnerbone\"},{\"id\":\"069a79f444e94726a5befca90e38aaf5\",\"name\":\"Notch\"}]";
+
+    // the session service configuration without the game profile adapter
+    private final Gson reflectiveGson = new GsonBuilder()
+        .registerTypeAdapter(TypeToken.getParameterized(Multimap.class, String.class, ProfileProperty.class).getType(), new PropertyMultimapTypeAdapter())
+        .registerTypeAdapter(UUID.class, new UniqueIdTypeAdapter())
+        .create();
+    private final Gson streamingGson = new GsonBuilder()
+        .registerTypeAdapter(TypeToken.getParameterized(Multimap.class, String.class, ProfileProperty.class).getType(), new PropertyMultimapTypeAdapter())
+        .registerTypeAdapter(GameProfile.class, new GameProfileTypeAdapter())
+        .registerTypeAdapter(UUID.class, new UniqueIdTypeAdapter())
+        .create();
+
+    @Benchmark
+    public GameProfile profileReflective() {
+        return this.reflectiveGson.fromJson(PROFILE, GameProfile.class);
+    }
+
+    @Benchmark
+    public GameProfile profileStreaming() {
+        return this.streamingGson.fromJson(PROFILE, GameProfile.class);
+    }
+
+    @Benchmark
+    public UUID uniqueIdTree() {
+        return UniqueIdTypeAdapter.fromString(JsonParser.parseString(UNIQUE_ID).getAsJsonObject().get("id").getAsString());
+    }
+
+    @Benchmark
+    public UUID uniqueIdStreaming() {
+        return UniqueIdExtractor.extractId(UNIQUE_ID);
+    }
+
+    @Benchmark
+    public void uniqueIdsTree(@NotNull Blackhole blackhole) {
+        for (JsonElement element : JsonParser.parseString(UNIQUE_IDS).getAsJsonArray()) {
+            JsonObject object = element.getAsJsonObject();
+            blackhole.consume(object.get("name").getAsString());
+            blackhole.consume(UniqueIdTypeAdapter.fromString(object.get("id").getAsString()));
+        }
+    }
+
+    @Benchmark
+    public void uniqueIdsStreaming(@NotNull Blackhole blackhole) {
+        UniqueIdExtractor.extractIds(UNIQUE_IDS, (name, uniqueId) -> {
+            blackhole.consume(name);
+            blackhole.consume(uniqueId);
+        });
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.benchmarks.network;
+
+import com.github.phantompowered.server4je.network.buffer.ByteBufUtil;
+import com.github.phantompowered.server4je.network.buffer.DefaultDataBufferFactory;
+import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
+import com.github.phantompowered.server4je.protocol.buffer.DataBufferFactory;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares wrapping every packet into a new data buffer with retargeting one data buffer per channel.
+ *
+ * <p>Run with {@code java -jar benchmarks/target/benchmarks.jar DataBufferReuseBenchmark -prof gc} and compare the
+ * {@code gc.alloc.rate.norm} column, which is the number of bytes allocated per packet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataBufferReuseBenchmark {
+
+    private final DataBufferFactory dataBufferFactory = new DefaultDataBufferFactory();
+
+    private ByteBuf packet;
+    private DataBuffer dataBuffer;
+
+    @Setup
+    public void setup() {
+        this.packet = Unpooled.directBuffer();
+        ByteBufUtil.writeUnsignedVarInt(this.packet, 0x13);
+        this.packet.writeDouble(12.5D).writeDouble(64D).writeDouble(-3.25D).writeBoolean(true);
+
+        this.dataBuffer = this.dataBufferFactory.createEmptyBuffer();
+    }
+
+    @Benchmark
+    public double wrapPerPacket() {
+        return this.read(this.dataBufferFactory.createDataBuffer(this.packet.readerIndex(0)));
+    }
+
+    @Benchmark
+    public double reusePerChannel() {
+        return this.read(this.dataBuffer.setDataHolder(this.packet.readerIndex(0)));
+    }
+
+    private double read(DataBuffer dataBuffer) {
+        return dataBuffer.readVarInt() + dataBuffer.readDouble() + dataBuffer.readDouble() + dataBuffer.readDouble()
+            + (dataBuffer.readBoolean() ? 1 : 0);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.benchmarks.network;
+
+import com.github.phantompowered.server4je.network.buffer.ByteBufUtil;
+import com.github.phantompowered.server4je.network.buffer.DefaultDataBufferFactory;
+import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the string codec of the default data buffer with copying the string through an intermediate byte array.
+ *
+ * <p>Run with {@code java -jar benchmarks/target/benchmarks.jar StringCodecBenchmark -prof gc} to include the
+ * allocated bytes per string.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringCodecBenchmark {
+
+    @Param({"ascii", "mixed"})
+    public String script;
+    @Param({"16", "256"})
+    public int length;
+
+    private String string;
+    private ByteBuf byteBuf;
+    private DataBuffer dataBuffer;
+
+    @Setup
+    public void setup() {
+        String alphabet = this.script.equals("ascii") ? "The quick brown fox jumps over the lazy dog " : "Grüße Привет 你好 😀 ";
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() < this.length) {
+            builder.append(alphabet);
+        }
+
+        // never cut a surrogate pair in half
+        this.string = builder.substring(0, builder.offsetByCodePoints(0, builder.codePointCount(0, this.length)));
+        this.byteBuf = Unpooled.directBuffer(this.length * 4);
+        this.dataBuffer = new DefaultDataBufferFactory().createDataBuffer(this.byteBuf);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.byteBuf.release();
+    }
+
+    @Benchmark
+    public int writeDirect() {
+        this.byteBuf.clear();
+        this.dataBuffer.writeString(this.string);
+        return this.byteBuf.writerIndex();
+    }
+
+    @Benchmark
+    public int writeByteArray() {
+        this.byteBuf.clear();
+        byte[] bytes = this.string.getBytes(StandardCharsets.UTF_8);
+        ByteBufUtil.writeUnsignedVarInt(this.byteBuf, bytes.length);
+        this.byteBuf.writeBytes(bytes);
+        return this.byteBuf.writerIndex();
+    }
+
+    @Benchmark
+    public String readDirect() {
+        this.byteBuf.readerIndex(0);
+        return this.dataBuffer.readString();
+    }
+
+    @Benchmark
+    public String readByteArray() {
+        this.byteBuf.readerIndex(0);
+        byte[] bytes = new byte[ByteBufUtil.readUnsignedVarInt(this.byteBuf)];
+        this.byteBuf.readBytes(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
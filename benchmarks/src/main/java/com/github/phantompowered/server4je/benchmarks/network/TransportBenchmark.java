@@ -0,0 +1,199 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.benchmarks.network;
+
+import com.github.phantompowered.server4je.network.transport.EventLoopGroupType;
+import com.github.phantompowered.server4je.network.transport.TransportType;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends packets through an echo server on the loopback interface to compare the transports on the same hardware.
+ *
+ * <p>Every benchmark thread uses its own connection, run with {@code -t <connections>} to put load on the worker
+ * event loops, for example {@code java -jar benchmarks/target/benchmarks.jar TransportBenchmark -t 32}. The worker
+ * thread count can be set using {@code -jvmArgs -Dserver4je.workerThreads=<threads>}. Transports which are not
+ * available on the system fail during the setup and are skipped. io_uring is only available if the netty incubator
+ * transport is added to the classpath.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransportBenchmark {
+
+    @Benchmark
+    public void echo(Connection connection) throws Exception {
+        connection.send();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        @Param({"NIO", "EPOLL", "K_QUEUE", "IO_URING"})
+        public TransportType transportType;
+        @Param({"64", "1024"})
+        public int packetSize;
+
+        private EventLoopGroup bossGroup;
+        private EventLoopGroup workerGroup;
+        private Channel serverChannel;
+
+        @Setup(Level.Trial)
+        public void setup() throws InterruptedException {
+            if (!this.transportType.isAvailable()) {
+                throw new IllegalStateException("Transport " + this.transportType.getName() + " is not available on this system");
+            }
+
+            this.bossGroup = this.transportType.getEventLoopGroup(EventLoopGroupType.BOSS);
+            this.workerGroup = this.transportType.getEventLoopGroup(EventLoopGroupType.WORKER);
+            this.serverChannel = new ServerBootstrap()
+                .channelFactory(this.transportType.getServerSocketChannelFactory())
+                .group(this.bossGroup, this.workerGroup)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childHandler(new EchoHandler())
+                .bind(new InetSocketAddress("127.0.0.1", 0))
+                .sync()
+                .channel();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            if (this.serverChannel != null) {
+                this.serverChannel.close().sync();
+            }
+
+            if (this.bossGroup != null) {
+                this.bossGroup.shutdownGracefully().sync();
+                this.workerGroup.shutdownGracefully().sync();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Connection {
+
+        private EventLoopGroup eventLoopGroup;
+        private Channel channel;
+        private ResponseHandler responseHandler;
+        private ByteBuf packet;
+
+        @Setup(Level.Trial)
+        public void setup(Server server) throws InterruptedException {
+            this.packet = Unpooled.unreleasableBuffer(Unpooled.directBuffer(server.packetSize).writeZero(server.packetSize));
+            this.responseHandler = new ResponseHandler();
+            this.eventLoopGroup = server.transportType.getEventLoopGroup(EventLoopGroupType.BOSS);
+            this.channel = new Bootstrap()
+                .channelFactory(server.transportType.getSocketChannelFactory())
+                .group(this.eventLoopGroup)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .handler(this.responseHandler)
+                .connect(server.serverChannel.localAddress())
+                .sync()
+                .channel();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            if (this.channel != null) {
+                this.channel.close().sync();
+            }
+
+            if (this.eventLoopGroup != null) {
+                this.eventLoopGroup.shutdownGracefully().sync();
+            }
+        }
+
+        void send() throws Exception {
+            CompletableFuture<Void> response = this.responseHandler.expect(this.packet.readableBytes());
+            this.channel.writeAndFlush(this.packet.duplicate());
+            response.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @ChannelHandler.Sharable
+    private static final class EchoHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ctx.write(msg);
+        }
+
+        @Override
+        public void channelReadComplete(ChannelHandlerContext ctx) {
+            ctx.flush();
+        }
+    }
+
+    private static final class ResponseHandler extends ChannelInboundHandlerAdapter {
+
+        private volatile CompletableFuture<Void> response;
+        private int remainingBytes;
+
+        CompletableFuture<Void> expect(int bytes) {
+            this.remainingBytes = bytes;
+            return this.response = new CompletableFuture<>();
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ByteBuf byteBuf = (ByteBuf) msg;
+            try {
+                this.remainingBytes -= byteBuf.readableBytes();
+                if (this.remainingBytes <= 0) {
+                    this.response.complete(null);
+                }
+            } finally {
+                byteBuf.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.benchmarks.network;
+
+import com.github.phantompowered.server4je.network.buffer.ByteBufUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the VarInt codec with the previous encoder, which wrote one byte per loop iteration, for different
+ * distributions of the encoded values.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VarIntBenchmark {
+
+    private static final int VALUES = 1024;
+
+    /*
+     * small: packet ids and lengths of small packets, encoded in one byte
+     * medium: entity ids and lengths of bigger packets, encoded in two or three bytes
+     * mixed: evenly spread over all encoded sizes
+     * negative: negative values, always encoded in five bytes
+     */
+    @Param({"small", "medium", "mixed", "negative"})
+    public String distribution;
+
+    private final int[] values = new int[VALUES];
+    private ByteBuf byteBuf;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(0x5EED);
+        for (int i = 0; i < VALUES; i++) {
+            switch (this.distribution) {
+                case "small":
+                    this.values[i] = random.nextInt(128);
+                    break;
+                case "medium":
+                    this.values[i] = random.nextInt(128, 1 << 21);
+                    break;
+                case "mixed":
+                    this.values[i] = random.nextInt() >>> random.nextInt(32);
+                    break;
+                default:
+                    this.values[i] = random.nextInt(Integer.MIN_VALUE, 0);
+                    break;
+            }
+        }
+
+        this.byteBuf = Unpooled.directBuffer(VALUES * 5);
+        for (int value : this.values) {
+            ByteBufUtil.writeUnsignedVarInt(this.byteBuf, value);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.byteBuf.release();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int write() {
+        this.byteBuf.clear();
+        for (int value : this.values) {
+            ByteBufUtil.writeUnsignedVarInt(this.byteBuf, value);
+        }
+
+        return this.byteBuf.writerIndex();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int writeLoop() {
+        this.byteBuf.clear();
+        for (int value : this.values) {
+            while ((value & -128) != 0) {
+                this.byteBuf.writeByte(value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+
+            this.byteBuf.writeByte(value);
+        }
+
+        return this.byteBuf.writerIndex();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int read() {
+        this.byteBuf.readerIndex(0);
+        int sum = 0;
+        for (int i = 0; i < VALUES; i++) {
+            sum += ByteBufUtil.readUnsignedVarInt(this.byteBuf);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int readLoop() {
+        this.byteBuf.readerIndex(0);
+        int sum = 0;
+        for (int i = 0; i < VALUES; i++) {
+            int value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = this.byteBuf.readByte();
+                value |= (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+
+            sum += value;
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.protocol.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Limits the size and the rate of an inbound packet. The limits are checked after the packet id was read and
+ * before the packet is decoded, a client exceeding one of the limits is disconnected. A value of {@code -1}
+ * disables the respective limit.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface InboundLimit {
+
+    /**
+     * Get the maximum size of the packet as it was received, before it was decompressed.
+     *
+     * @return the maximum size of the received packet in bytes, including the packet id
+     */
+    int maxCompressedSize() default -1;
+
+    /**
+     * Get the maximum size of the packet after it was decompressed.
+     *
+     * @return the maximum size of the decompressed packet in bytes, including the packet id
+     */
+    int maxUncompressedSize() default -1;
+
+    /**
+     * Get the maximum amount of packets of this type a client may send per second.
+     *
+     * @return the maximum amount of packets per second
+     */
+    int maxPerSecond() default -1;
+}
@@ -47,12 +47,25 @@ import java.util.UUID;
 
 public abstract class DataBuffer extends ByteBuf {
 
-    private final ByteBuf dataHolder;
+    private ByteBuf dataHolder;
 
     protected DataBuffer(ByteBuf dataHolder) {
         this.dataHolder = dataHolder;
     }
 
+    /**
+     * Points this data buffer to another underlying buffer. This allows the reuse of one data buffer
+     * for many buffers instead of creating a new wrapper for each of them.
+     *
+     * @param dataHolder the new underlying buffer
+     * @return the same instance as used to call the method, for chaining
+     */
+    @NotNull
+    public DataBuffer setDataHolder(@NotNull ByteBuf dataHolder) {
+        this.dataHolder = dataHolder;
+        return this;
+    }
+
     public abstract void writeString(@NotNull String string);
 
     public abstract void writeString(@NotNull String string, @Range(from = 0, to = Short.MAX_VALUE) int maxLength);
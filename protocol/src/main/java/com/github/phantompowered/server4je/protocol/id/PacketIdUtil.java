@@ -25,10 +25,11 @@
 package com.github.phantompowered.server4je.protocol.id;
 
 import com.github.phantompowered.server4je.common.CommonConstants;
-import com.github.phantompowered.server4je.common.collect.Iterables;
 import com.github.phantompowered.server4je.common.exception.ClassShouldNotBeInstantiatedDirectlyException;
 import com.github.phantompowered.server4je.common.exception.ReportedException;
 import com.github.phantompowered.server4je.protocol.Packet;
+import com.github.phantompowered.server4je.protocol.exceptions.UnknownPacketIdException;
+import com.github.phantompowered.server4je.protocol.recycler.PacketRecycler;
 import com.github.phantompowered.server4je.protocol.state.ProtocolState;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
@@ -38,12 +39,27 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public final class PacketIdUtil {
 
@@ -51,56 +67,199 @@ public final class PacketIdUtil {
         throw ClassShouldNotBeInstantiatedDirectlyException.INSTANCE;
     }
 
-    private static final Map<ProtocolState, Set<Map.Entry<String, Short>>> SERVER_IDS = new ConcurrentHashMap<>();
-    private static final Map<ProtocolState, Set<Map.Entry<String, Short>>> CLIENT_IDS = new ConcurrentHashMap<>();
+    private static final Map<ProtocolState, Map<String, Short>> SERVER_IDS = new ConcurrentHashMap<>();
+    private static final Map<ProtocolState, Map<String, Short>> CLIENT_IDS = new ConcurrentHashMap<>();
     private static final Type TYPE = TypeToken.getParameterized(Map.class, String.class, Short.class).getType();
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
 
-    public static short getServerPacketId(@NotNull ProtocolState state, @NotNull Class<?> clazz) {
-        if (SERVER_IDS.isEmpty()) {
-            loadIds("server");
+    private static final String PACKET_PACKAGE = "com.github.phantompowered.server4je.protocol";
+    private static final String LEGACY_PACKET_PACKAGE = PACKET_PACKAGE + ".legacy";
+    private static final String OUTBOUND_PACKET_PREFIX = "PacketOut";
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    // packet ids resolved once per class, indexed by state ordinal, -1 for classes not mapped in a state
+    private static final ClassValue<short[]> SERVER_PACKET_IDS = new PacketIdClassValue(SERVER_IDS);
+    private static final ClassValue<short[]> CLIENT_PACKET_IDS = new PacketIdClassValue(CLIENT_IDS);
+
+    // packet factories indexed by [state ordinal][packet id], null for ids which are not mapped
+    private static final Supplier<? extends Packet>[][] CLIENT_PACKET_FACTORIES;
+
+    static {
+        loadIds("server");
+        loadIds("client");
+
+        ProtocolState[] states = ProtocolState.values();
+        //noinspection unchecked
+        CLIENT_PACKET_FACTORIES = new Supplier[states.length][];
+        for (ProtocolState state : states) {
+            CLIENT_PACKET_FACTORIES[state.ordinal()] = createPacketFactories(CLIENT_IDS.get(state));
         }
+    }
 
-        var ids = SERVER_IDS.get(state);
-        if (ids == null) {
-            ReportedException.throwWrapped("No protocol ids loaded for state " + state);
+    public static short getServerPacketId(@NotNull ProtocolState state, @NotNull Class<?> clazz) {
+        short id = SERVER_PACKET_IDS.get(clazz)[state.ordinal()];
+        if (id < 0) {
+            ReportedException.throwWrapped("No server packet id mapped for " + clazz.getName() + " in state " + state);
         }
 
-        return Iterables.first(ids, entry -> entry.getKey().equals(clazz.getName())).orElseThrow().getValue();
+        return id;
     }
 
     public static short getClientPacketId(@NotNull ProtocolState state, @NotNull Class<?> clazz) {
-        if (CLIENT_IDS.isEmpty()) {
-            loadIds("client");
+        short id = CLIENT_PACKET_IDS.get(clazz)[state.ordinal()];
+        if (id < 0) {
+            ReportedException.throwWrapped("No client packet id mapped for " + clazz.getName() + " in state " + state);
         }
 
-        var ids = CLIENT_IDS.get(state);
-        if (ids == null) {
-            ReportedException.throwWrapped("No protocol ids loaded for state " + state);
+        return id;
+    }
+
+    @NotNull
+    public static Packet getClientPacket(@NotNull ProtocolState state, short packetId) {
+        Supplier<? extends Packet>[] factories = CLIENT_PACKET_FACTORIES[state.ordinal()];
+        if (packetId < 0 || packetId >= factories.length || factories[packetId] == null) {
+            throw UnknownPacketIdException.INSTANCE;
         }
 
-        return Iterables.first(ids, entry -> entry.getKey().equals(clazz.getName())).orElseThrow().getValue();
+        return factories[packetId].get();
     }
 
+    /**
+     * Get the ids of all client packets in the given state.
+     *
+     * @param state the state to get the packet ids of
+     * @return the packet ids in the state, keyed by the name of the packet class
+     */
     @NotNull
-    public static Packet getClientPacket(@NotNull ProtocolState state, short packetId) {
-        if (CLIENT_IDS.isEmpty()) {
-            loadIds("client");
+    public static Map<String, Short> getClientPacketIds(@NotNull ProtocolState state) {
+        return Collections.unmodifiableMap(CLIENT_IDS.get(state));
+    }
+
+    /**
+     * Ensures that every outbound packet implementation shipped with the protocol has an id in the packet-ids-server.json
+     * file for the state it is sent in. Should be called once during the server startup.
+     *
+     * @throws ReportedException if at least one outbound packet has no id mapped in its state
+     */
+    public static void verifyServerPacketIds() {
+        Collection<String> missing = new ArrayList<>();
+        for (Class<? extends Packet> packetClass : findOutboundPacketClasses()) {
+            Supplier<? extends Packet> factory = createPacketFactory(packetClass);
+            try {
+                // the packet resolves its id in the state it is sent in, an id mapped in another state does not count
+                factory.get().getId();
+            } catch (ReportedException exception) {
+                missing.add(packetClass.getName());
+            }
         }
 
-        var ids = CLIENT_IDS.get(state);
-        if (ids == null) {
-            ReportedException.throwWrapped("No protocol ids loaded for state " + state);
+        if (!missing.isEmpty()) {
+            ReportedException.throwWrapped("Packets without an id for their state in packet-ids-server.json: " + missing);
         }
+    }
 
-        return Iterables.first(ids, entry -> entry.getValue() == packetId).map(entry -> {
-            try {
-                //noinspection unchecked
-                Class<? extends Packet> clazz = (Class<? extends Packet>) Class.forName(entry.getKey());
-                return clazz.getDeclaredConstructor().newInstance();
-            } catch (ClassNotFoundException | NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException exception) {
-                return null;
+    @NotNull
+    private static Collection<Class<? extends Packet>> findOutboundPacketClasses() {
+        Collection<Class<? extends Packet>> packetClasses = new ArrayList<>();
+        try {
+            Path location = Path.of(Packet.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            if (Files.isDirectory(location)) {
+                collectOutboundPacketClasses(location, packetClasses);
+            } else {
+                try (FileSystem fileSystem = FileSystems.newFileSystem(location, (ClassLoader) null)) {
+                    collectOutboundPacketClasses(fileSystem.getPath("/"), packetClasses);
+                }
+            }
+        } catch (IOException | URISyntaxException | ClassNotFoundException exception) {
+            ReportedException.throwWrapped(exception, "Unable to scan for outbound packet classes");
+        }
+
+        return packetClasses;
+    }
+
+    private static void collectOutboundPacketClasses(@NotNull Path root, @NotNull Collection<Class<? extends Packet>> target)
+        throws IOException, ClassNotFoundException {
+        try (Stream<Path> stream = Files.walk(root.resolve(PACKET_PACKAGE.replace('.', '/')))) {
+            Iterator<Path> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                Path path = iterator.next();
+                String fileName = path.getFileName().toString();
+                if (!fileName.startsWith(OUTBOUND_PACKET_PREFIX) || !fileName.endsWith(CLASS_FILE_SUFFIX) || fileName.indexOf('$') != -1) {
+                    continue;
+                }
+
+                String className = root.relativize(path).toString().replace(path.getFileSystem().getSeparator(), ".");
+                className = className.substring(0, className.length() - CLASS_FILE_SUFFIX.length());
+                if (className.startsWith(LEGACY_PACKET_PACKAGE)) {
+                    continue;
+                }
+
+                Class<?> clazz = Class.forName(className, false, Packet.class.getClassLoader());
+                if (Packet.class.isAssignableFrom(clazz) && !clazz.isInterface() && !Modifier.isAbstract(clazz.getModifiers())) {
+                    target.add(clazz.asSubclass(Packet.class));
+                }
             }
-        }).orElseThrow();
+        }
+    }
+
+    @NotNull
+    private static Supplier<? extends Packet>[] createPacketFactories(@NotNull Map<String, Short> ids) {
+        int size = 0;
+        for (Map.Entry<String, Short> entry : ids.entrySet()) {
+            size = Math.max(size, entry.getValue() + 1);
+        }
+
+        //noinspection unchecked
+        Supplier<? extends Packet>[] factories = new Supplier[size];
+        for (Map.Entry<String, Short> entry : ids.entrySet()) {
+            if (factories[entry.getValue()] != null) {
+                ReportedException.throwWrapped("Duplicate packet id " + entry.getValue() + " for " + entry.getKey());
+            }
+
+            factories[entry.getValue()] = createPacketFactory(entry.getKey());
+        }
+
+        return factories;
+    }
+
+    /**
+     * Creates a factory which creates new instances of the given packet class using its no-args constructor.
+     *
+     * @param packetClass the class of the packet to create
+     * @param <T> the type of the packet
+     * @return a factory for the given packet class
+     */
+    @NotNull
+    public static <T extends Packet> Supplier<T> createPacketFactory(@NotNull Class<T> packetClass) {
+        try {
+            MethodHandle constructor = LOOKUP.findConstructor(packetClass, MethodType.methodType(void.class));
+            CallSite callSite = LambdaMetafactory.metafactory(
+                LOOKUP,
+                "get",
+                MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class),
+                constructor,
+                MethodType.methodType(packetClass)
+            );
+
+            //noinspection unchecked
+            return (Supplier<T>) callSite.getTarget().invoke();
+        } catch (Throwable throwable) {
+            throw ReportedException.forMessageAndThrowable(throwable, "Unable to create packet factory for " + packetClass.getName());
+        }
+    }
+
+    @NotNull
+    private static Supplier<? extends Packet> createPacketFactory(@NotNull String className) {
+        Class<? extends Packet> packetClass;
+        try {
+            packetClass = Class.forName(className).asSubclass(Packet.class);
+        } catch (ClassNotFoundException | ClassCastException exception) {
+            throw ReportedException.forMessageAndThrowable(exception, "Unable to create packet factory for " + className);
+        }
+
+        // recyclable packets are taken from the pool of the decoding thread
+        return PacketRecycler.isRecyclable(packetClass) ? () -> PacketRecycler.get(packetClass) : createPacketFactory(packetClass);
     }
 
     private static void loadIds(@NotNull String type) {
@@ -132,13 +291,35 @@ public final class PacketIdUtil {
 
         switch (type.toLowerCase()) {
             case "server":
-                SERVER_IDS.put(state, idsMapped.entrySet());
+                SERVER_IDS.put(state, idsMapped);
                 break;
             case "client":
-                CLIENT_IDS.put(state, idsMapped.entrySet());
+                CLIENT_IDS.put(state, idsMapped);
                 break;
             default:
                 ReportedException.throwWrapped("No default id state for " + type);
         }
     }
+
+    private static final class PacketIdClassValue extends ClassValue<short[]> {
+
+        private final Map<ProtocolState, Map<String, Short>> ids;
+
+        private PacketIdClassValue(Map<ProtocolState, Map<String, Short>> ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        protected short[] computeValue(Class<?> type) {
+            ProtocolState[] states = ProtocolState.values();
+            short[] result = new short[states.length];
+            for (ProtocolState state : states) {
+                Map<String, Short> stateIds = this.ids.get(state);
+                Short id = stateIds == null ? null : stateIds.get(type.getName());
+                result[state.ordinal()] = id == null ? -1 : id;
+            }
+
+            return result;
+        }
+    }
 }
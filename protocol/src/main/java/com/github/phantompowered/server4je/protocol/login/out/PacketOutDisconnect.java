@@ -26,6 +26,8 @@ package com.github.phantompowered.server4je.protocol.login.out;
 
 import com.github.phantompowered.server4je.protocol.Packet;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.FlushImmediately;
+import com.github.phantompowered.server4je.protocol.annotation.OutboundPriority;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
 import com.github.phantompowered.server4je.protocol.id.PacketIdUtil;
@@ -33,6 +35,8 @@ import com.github.phantompowered.server4je.protocol.state.ProtocolState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
+@OutboundPriority(OutboundPriority.Lane.CONTROL)
+@FlushImmediately
 public class PacketOutDisconnect implements Packet {
 
     private String reason;
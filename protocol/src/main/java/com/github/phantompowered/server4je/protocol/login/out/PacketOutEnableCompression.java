@@ -25,6 +25,7 @@
 package com.github.phantompowered.server4je.protocol.login.out;
 
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.FlushImmediately;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.defaults.PrimitivePacket;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
@@ -33,6 +34,7 @@ import com.github.phantompowered.server4je.protocol.state.ProtocolState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
+@FlushImmediately
 public class PacketOutEnableCompression extends PrimitivePacket {
 
     private int threshold;
@@ -56,7 +58,7 @@ public class PacketOutEnableCompression extends PrimitivePacket {
 
     @Override
     public @Range(from = 0, to = Short.MAX_VALUE) short getId() {
-        return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutEnableCompression.class);
+        return PacketIdUtil.getServerPacketId(ProtocolState.LOGIN, PacketOutEnableCompression.class);
     }
 
     public int getThreshold() {
@@ -27,6 +27,7 @@ package com.github.phantompowered.server4je.protocol.login.out;
 import com.destroystokyo.paper.Namespaced;
 import com.github.phantompowered.server4je.protocol.Packet;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.FlushImmediately;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
 import com.github.phantompowered.server4je.protocol.id.PacketIdUtil;
@@ -34,6 +35,7 @@ import com.github.phantompowered.server4je.protocol.state.ProtocolState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
+@FlushImmediately
 public class PacketOutPluginRequest implements Packet {
 
     private int messageId;
@@ -26,6 +26,7 @@ package com.github.phantompowered.server4je.protocol.play.in;
 
 import com.github.phantompowered.server4je.protocol.Packet;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.InboundLimit;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyFromClientException;
 import com.github.phantompowered.server4je.protocol.id.PacketIdUtil;
@@ -34,6 +35,7 @@ import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
+@InboundLimit(maxCompressedSize = 32_768, maxUncompressedSize = 102_400, maxPerSecond = 2)
 public class PacketInBookEdit implements Packet {
 
     private ItemStack itemStack;
@@ -26,6 +26,7 @@ package com.github.phantompowered.server4je.protocol.play.in;
 
 import com.github.phantompowered.server4je.protocol.Packet;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.InboundLimit;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyFromClientException;
 import com.github.phantompowered.server4je.protocol.id.PacketIdUtil;
@@ -33,6 +34,7 @@ import com.github.phantompowered.server4je.protocol.state.ProtocolState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
+@InboundLimit(maxUncompressedSize = 1_024, maxPerSecond = 20)
 public class PacketInChatMessage implements Packet {
 
     private String message;
@@ -28,6 +28,7 @@ import com.destroystokyo.paper.Namespaced;
 import com.github.phantompowered.server4je.common.exception.ReportedException;
 import com.github.phantompowered.server4je.protocol.Packet;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.InboundLimit;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyFromClientException;
 import com.github.phantompowered.server4je.protocol.id.PacketIdUtil;
@@ -35,6 +36,7 @@ import com.github.phantompowered.server4je.protocol.state.ProtocolState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
+@InboundLimit(maxUncompressedSize = 32_767 + 1_024, maxPerSecond = 200)
 public class PacketInCustomPayload implements Packet {
 
     private Namespaced identifier;
@@ -25,6 +25,7 @@
 package com.github.phantompowered.server4je.protocol.play.in;
 
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.DecodeOnDemand;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.defaults.PrimitivePacket;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyFromClientException;
@@ -33,6 +34,7 @@ import com.github.phantompowered.server4je.protocol.state.ProtocolState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
+@DecodeOnDemand
 public class PacketInEntityNBTRequest extends PrimitivePacket {
 
     private int transactionId;
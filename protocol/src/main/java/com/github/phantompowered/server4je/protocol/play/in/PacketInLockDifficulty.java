@@ -28,6 +28,7 @@ import com.github.phantompowered.server4je.common.annotation.Always;
 import com.github.phantompowered.server4je.common.annotation.Note;
 import com.github.phantompowered.server4je.common.exception.ReportedException;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.DecodeOnDemand;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.defaults.PrimitivePacket;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyFromClientException;
@@ -37,6 +38,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
 @Note("Normally only used in single-player (we implement it in multiplayer too). Needs op-level 2")
+@DecodeOnDemand
 public class PacketInLockDifficulty extends PrimitivePacket {
 
     @Always(value = "true", reason = "If the difficulty is locked it cannot get unlocked (we don't handle 'false')")
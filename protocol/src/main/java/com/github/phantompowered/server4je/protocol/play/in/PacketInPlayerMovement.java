@@ -27,14 +27,17 @@ package com.github.phantompowered.server4je.protocol.play.in;
 import com.github.phantompowered.server4je.common.annotation.Note;
 import com.github.phantompowered.server4je.protocol.Packet;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.Recyclable;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyFromClientException;
 import com.github.phantompowered.server4je.protocol.id.PacketIdUtil;
+import com.github.phantompowered.server4je.protocol.recycler.PacketRecycler;
 import com.github.phantompowered.server4je.protocol.state.ProtocolState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 
+@Recyclable
 public class PacketInPlayerMovement implements Packet {
 
     @Note("Always present")
@@ -72,6 +75,7 @@ public class PacketInPlayerMovement implements Packet {
     }
 
     public boolean isOnGround() {
+        PacketRecycler.ensureNotRecycled(this);
         return this.onGround;
     }
 
@@ -81,6 +85,7 @@ public class PacketInPlayerMovement implements Packet {
 
     @Nullable
     public Double getX() {
+        PacketRecycler.ensureNotRecycled(this);
         return this.x;
     }
 
@@ -90,6 +95,7 @@ public class PacketInPlayerMovement implements Packet {
 
     @Nullable
     public Double getY() {
+        PacketRecycler.ensureNotRecycled(this);
         return this.y;
     }
 
@@ -99,6 +105,7 @@ public class PacketInPlayerMovement implements Packet {
 
     @Nullable
     public Double getZ() {
+        PacketRecycler.ensureNotRecycled(this);
         return this.z;
     }
 
@@ -108,6 +115,7 @@ public class PacketInPlayerMovement implements Packet {
 
     @Nullable
     public Float getYaw() {
+        PacketRecycler.ensureNotRecycled(this);
         return this.yaw;
     }
 
@@ -117,6 +125,7 @@ public class PacketInPlayerMovement implements Packet {
 
     @Nullable
     public Float getPitch() {
+        PacketRecycler.ensureNotRecycled(this);
         return this.pitch;
     }
 
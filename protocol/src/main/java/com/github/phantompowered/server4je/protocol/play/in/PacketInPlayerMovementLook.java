@@ -25,6 +25,7 @@
 package com.github.phantompowered.server4je.protocol.play.in;
 
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.Recyclable;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.id.PacketIdUtil;
 import com.github.phantompowered.server4je.protocol.state.ProtocolState;
@@ -33,6 +34,7 @@ import org.jetbrains.annotations.Range;
 
 import java.util.Objects;
 
+@Recyclable
 public class PacketInPlayerMovementLook extends PacketInPlayerMovement {
 
     @Override
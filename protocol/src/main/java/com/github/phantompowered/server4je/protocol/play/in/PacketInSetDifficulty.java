@@ -27,6 +27,7 @@ package com.github.phantompowered.server4je.protocol.play.in;
 import com.github.phantompowered.server4je.common.annotation.Note;
 import com.github.phantompowered.server4je.protocol.Packet;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.DecodeOnDemand;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyFromClientException;
 import com.github.phantompowered.server4je.protocol.id.PacketIdUtil;
@@ -36,6 +37,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
 @Note("Normally only used in single-player (we implement it in multiplayer too). Needs op-level 2")
+@DecodeOnDemand
 public class PacketInSetDifficulty implements Packet {
 
     private Difficulty difficulty;
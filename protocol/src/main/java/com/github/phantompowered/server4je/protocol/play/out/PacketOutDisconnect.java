@@ -26,6 +26,8 @@ package com.github.phantompowered.server4je.protocol.play.out;
 
 import com.github.phantompowered.server4je.protocol.Packet;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.FlushImmediately;
+import com.github.phantompowered.server4je.protocol.annotation.OutboundPriority;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
 import com.github.phantompowered.server4je.protocol.id.PacketIdUtil;
@@ -35,6 +37,8 @@ import net.md_5.bungee.chat.ComponentSerializer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
+@OutboundPriority(OutboundPriority.Lane.CONTROL)
+@FlushImmediately
 public class PacketOutDisconnect implements Packet {
 
     private TextComponent reason;
@@ -24,6 +24,7 @@
  */
 package com.github.phantompowered.server4je.protocol.play.out;
 
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.defaults.PrimitivePacket;
@@ -34,7 +35,7 @@ import org.bukkit.entity.Entity;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
-public class PacketOutEntityAnimation extends PrimitivePacket {
+public class PacketOutEntityAnimation extends PrimitivePacket implements EntityPacket {
 
     private int entityId;
     private int animation;
@@ -67,6 +68,7 @@ public class PacketOutEntityAnimation extends PrimitivePacket {
         return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutEntityAnimation.class);
     }
 
+    @Override
     public int getEntityId() {
         return this.entityId;
     }
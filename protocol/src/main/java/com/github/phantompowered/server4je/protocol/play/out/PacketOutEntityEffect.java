@@ -24,6 +24,7 @@
  */
 package com.github.phantompowered.server4je.protocol.play.out;
 
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.defaults.PrimitivePacket;
@@ -35,7 +36,7 @@ import org.bukkit.potion.PotionEffect;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
-public class PacketOutEntityEffect extends PrimitivePacket {
+public class PacketOutEntityEffect extends PrimitivePacket implements EntityPacket {
 
     private int entityId;
     private int effectId;
@@ -93,6 +94,7 @@ public class PacketOutEntityEffect extends PrimitivePacket {
         return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutEntityEffect.class);
     }
 
+    @Override
     public int getEntityId() {
         return this.entityId;
     }
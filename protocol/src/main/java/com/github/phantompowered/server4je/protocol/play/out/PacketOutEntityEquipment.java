@@ -25,7 +25,7 @@
 package com.github.phantompowered.server4je.protocol.play.out;
 
 import com.github.phantompowered.server4je.common.misc.KeyValueHolder;
-import com.github.phantompowered.server4je.protocol.Packet;
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
@@ -38,7 +38,7 @@ import org.jetbrains.annotations.Range;
 
 import java.util.List;
 
-public class PacketOutEntityEquipment implements Packet {
+public class PacketOutEntityEquipment implements EntityPacket {
 
     private int entityId;
     private List<KeyValueHolder<EquipmentSlot, ItemStack>> items;
@@ -80,6 +80,7 @@ public class PacketOutEntityEquipment implements Packet {
         return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutEntityEquipment.class);
     }
 
+    @Override
     public int getEntityId() {
         return this.entityId;
     }
@@ -24,7 +24,9 @@
  */
 package com.github.phantompowered.server4je.protocol.play.out;
 
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.Recyclable;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.defaults.PrimitivePacket;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
@@ -33,7 +35,8 @@ import com.github.phantompowered.server4je.protocol.state.ProtocolState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
-public class PacketOutEntityHeadLook extends PrimitivePacket {
+@Recyclable
+public class PacketOutEntityHeadLook extends PrimitivePacket implements EntityPacket {
 
     private int entityId;
     private byte headYaw;
@@ -62,6 +65,7 @@ public class PacketOutEntityHeadLook extends PrimitivePacket {
         return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutEntityHeadLook.class);
     }
 
+    @Override
     public int getEntityId() {
         return this.entityId;
     }
@@ -25,7 +25,7 @@
 package com.github.phantompowered.server4je.protocol.play.out;
 
 import com.github.phantompowered.server4je.api.data.DataWatcherEntry;
-import com.github.phantompowered.server4je.protocol.Packet;
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
@@ -37,7 +37,7 @@ import org.jetbrains.annotations.Range;
 
 import java.util.List;
 
-public class PacketOutEntityMetadata implements Packet {
+public class PacketOutEntityMetadata implements EntityPacket {
 
     private int entityId;
     private List<DataWatcherEntry> metadata;
@@ -71,6 +71,7 @@ public class PacketOutEntityMetadata implements Packet {
         return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutEntityMetadata.class);
     }
 
+    @Override
     public int getEntityId() {
         return this.entityId;
     }
@@ -24,6 +24,7 @@
  */
 package com.github.phantompowered.server4je.protocol.play.out;
 
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.defaults.PrimitivePacket;
@@ -33,7 +34,7 @@ import com.github.phantompowered.server4je.protocol.state.ProtocolState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
-public class PacketOutEntityMovement extends PrimitivePacket {
+public class PacketOutEntityMovement extends PrimitivePacket implements EntityPacket {
 
     private int entityId;
 
@@ -59,6 +60,7 @@ public class PacketOutEntityMovement extends PrimitivePacket {
         return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutEntityMovement.class);
     }
 
+    @Override
     public int getEntityId() {
         return this.entityId;
     }
@@ -25,12 +25,14 @@
 package com.github.phantompowered.server4je.protocol.play.out;
 
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.Recyclable;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.id.PacketIdUtil;
 import com.github.phantompowered.server4je.protocol.state.ProtocolState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
+@Recyclable
 public class PacketOutEntityPositionRotation extends PacketOutEntityMovement {
 
     private int deltaX;
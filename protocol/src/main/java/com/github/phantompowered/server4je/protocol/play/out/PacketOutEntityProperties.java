@@ -25,7 +25,7 @@
 package com.github.phantompowered.server4je.protocol.play.out;
 
 import com.github.phantompowered.server4je.common.enums.EnumUtil;
-import com.github.phantompowered.server4je.protocol.Packet;
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
@@ -41,7 +41,7 @@ import org.jetbrains.annotations.Range;
 import java.util.ArrayList;
 import java.util.Collection;
 
-public class PacketOutEntityProperties implements Packet {
+public class PacketOutEntityProperties implements EntityPacket {
 
     private int entityId;
     private Collection<AttributeInstance> attributeInstances;
@@ -96,6 +96,7 @@ public class PacketOutEntityProperties implements Packet {
         return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutEntityProperties.class);
     }
 
+    @Override
     public int getEntityId() {
         return this.entityId;
     }
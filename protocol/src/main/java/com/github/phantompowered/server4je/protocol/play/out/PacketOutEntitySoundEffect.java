@@ -24,7 +24,7 @@
  */
 package com.github.phantompowered.server4je.protocol.play.out;
 
-import com.github.phantompowered.server4je.protocol.Packet;
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
@@ -35,7 +35,7 @@ import org.bukkit.SoundCategory;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
-public class PacketOutEntitySoundEffect implements Packet {
+public class PacketOutEntitySoundEffect implements EntityPacket {
 
     private Sound sound;
     private SoundCategory soundCategory;
@@ -95,6 +95,7 @@ public class PacketOutEntitySoundEffect implements Packet {
         this.soundCategory = soundCategory;
     }
 
+    @Override
     public int getEntityId() {
         return this.entityId;
     }
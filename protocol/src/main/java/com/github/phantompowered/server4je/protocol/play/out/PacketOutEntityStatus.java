@@ -24,6 +24,7 @@
  */
 package com.github.phantompowered.server4je.protocol.play.out;
 
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.defaults.PrimitivePacket;
@@ -33,7 +34,7 @@ import com.github.phantompowered.server4je.protocol.state.ProtocolState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
-public class PacketOutEntityStatus extends PrimitivePacket {
+public class PacketOutEntityStatus extends PrimitivePacket implements EntityPacket {
 
     private int entityId;
     private byte status;
@@ -62,6 +63,7 @@ public class PacketOutEntityStatus extends PrimitivePacket {
         return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutEntityStatus.class);
     }
 
+    @Override
     public int getEntityId() {
         return this.entityId;
     }
@@ -24,7 +24,9 @@
  */
 package com.github.phantompowered.server4je.protocol.play.out;
 
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.Recyclable;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.defaults.PrimitivePacket;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
@@ -35,7 +37,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
 /* Sent if an entity moves more than 8 blocks */
-public class PacketOutEntityTeleport extends PrimitivePacket {
+@Recyclable
+public class PacketOutEntityTeleport extends PrimitivePacket implements EntityPacket {
 
     private int entityId;
     private double x;
@@ -89,6 +92,7 @@ public class PacketOutEntityTeleport extends PrimitivePacket {
         return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutEntityTeleport.class);
     }
 
+    @Override
     public int getEntityId() {
         return this.entityId;
     }
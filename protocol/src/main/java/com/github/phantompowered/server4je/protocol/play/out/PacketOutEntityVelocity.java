@@ -24,7 +24,9 @@
  */
 package com.github.phantompowered.server4je.protocol.play.out;
 
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.Recyclable;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.defaults.PrimitivePacket;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
@@ -33,7 +35,8 @@ import com.github.phantompowered.server4je.protocol.state.ProtocolState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
-public class PacketOutEntityVelocity extends PrimitivePacket {
+@Recyclable
+public class PacketOutEntityVelocity extends PrimitivePacket implements EntityPacket {
 
     private int entityId;
     private short x;
@@ -68,6 +71,7 @@ public class PacketOutEntityVelocity extends PrimitivePacket {
         return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutEntityVelocity.class);
     }
 
+    @Override
     public int getEntityId() {
         return this.entityId;
     }
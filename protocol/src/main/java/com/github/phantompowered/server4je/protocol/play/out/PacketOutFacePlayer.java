@@ -50,6 +50,9 @@ public class PacketOutFacePlayer implements Packet {
     private Integer entityId;
     private BodyFacing entityFeetOrEyes;
 
+    public PacketOutFacePlayer() {
+    }
+
     public PacketOutFacePlayer(BodyFacing feetOrEyes, double targetX, double targetY, double targetZ) {
         this.feetOrEyes = feetOrEyes;
         this.targetX = targetX;
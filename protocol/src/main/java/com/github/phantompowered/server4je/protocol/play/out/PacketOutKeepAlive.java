@@ -25,6 +25,8 @@
 package com.github.phantompowered.server4je.protocol.play.out;
 
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.FlushImmediately;
+import com.github.phantompowered.server4je.protocol.annotation.OutboundPriority;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.defaults.PrimitivePacket;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
@@ -33,6 +35,8 @@ import com.github.phantompowered.server4je.protocol.state.ProtocolState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
+@OutboundPriority(OutboundPriority.Lane.CONTROL)
+@FlushImmediately
 public class PacketOutKeepAlive extends PrimitivePacket {
 
     private long id;
@@ -25,6 +25,7 @@
 package com.github.phantompowered.server4je.protocol.play.out;
 
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.OutboundPriority;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.defaults.PrimitivePacket;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
@@ -36,6 +37,7 @@ import org.jetbrains.annotations.Range;
 import java.util.EnumSet;
 import java.util.Set;
 
+@OutboundPriority(OutboundPriority.Lane.CONTROL)
 public class PacketOutPlayerPosition extends PrimitivePacket {
 
     private double x;
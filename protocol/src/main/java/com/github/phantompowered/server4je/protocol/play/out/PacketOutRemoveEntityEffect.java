@@ -24,6 +24,7 @@
  */
 package com.github.phantompowered.server4je.protocol.play.out;
 
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.defaults.PrimitivePacket;
@@ -35,7 +36,7 @@ import org.bukkit.potion.PotionEffect;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
-public class PacketOutRemoveEntityEffect extends PrimitivePacket {
+public class PacketOutRemoveEntityEffect extends PrimitivePacket implements EntityPacket {
 
     private int entityId;
     private byte effectId;
@@ -68,4 +69,13 @@ public class PacketOutRemoveEntityEffect extends PrimitivePacket {
     public @Range(from = 0, to = Short.MAX_VALUE) short getId() {
         return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutRemoveEntityEffect.class);
     }
+
+    @Override
+    public int getEntityId() {
+        return this.entityId;
+    }
+
+    public byte getEffectId() {
+        return this.effectId;
+    }
 }
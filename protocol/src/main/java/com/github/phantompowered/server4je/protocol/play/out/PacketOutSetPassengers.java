@@ -24,7 +24,7 @@
  */
 package com.github.phantompowered.server4je.protocol.play.out;
 
-import com.github.phantompowered.server4je.protocol.Packet;
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
@@ -33,7 +33,7 @@ import com.github.phantompowered.server4je.protocol.state.ProtocolState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
-public class PacketOutSetPassengers implements Packet {
+public class PacketOutSetPassengers implements EntityPacket {
 
     private int entityId;
     private int[] passengers;
@@ -67,6 +67,7 @@ public class PacketOutSetPassengers implements Packet {
         return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutSetPassengers.class);
     }
 
+    @Override
     public int getEntityId() {
         return this.entityId;
     }
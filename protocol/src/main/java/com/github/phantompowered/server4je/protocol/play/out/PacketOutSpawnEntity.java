@@ -25,7 +25,7 @@
 package com.github.phantompowered.server4je.protocol.play.out;
 
 import com.github.phantompowered.server4je.common.math.MathHelper;
-import com.github.phantompowered.server4je.protocol.Packet;
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
@@ -38,7 +38,7 @@ import org.jetbrains.annotations.Range;
 
 import java.util.UUID;
 
-public class PacketOutSpawnEntity implements Packet {
+public class PacketOutSpawnEntity implements EntityPacket {
 
     private int entityId;
     private UUID entityUniqueId;
@@ -102,6 +102,7 @@ public class PacketOutSpawnEntity implements Packet {
         return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutSpawnEntity.class);
     }
 
+    @Override
     public int getEntityId() {
         return this.entityId;
     }
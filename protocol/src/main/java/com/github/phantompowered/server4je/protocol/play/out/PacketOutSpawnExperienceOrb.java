@@ -24,6 +24,7 @@
  */
 package com.github.phantompowered.server4je.protocol.play.out;
 
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.defaults.PrimitivePacket;
@@ -34,7 +35,7 @@ import org.bukkit.Location;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
-public class PacketOutSpawnExperienceOrb extends PrimitivePacket {
+public class PacketOutSpawnExperienceOrb extends PrimitivePacket implements EntityPacket {
 
     private int entityId;
     private double x;
@@ -80,6 +81,7 @@ public class PacketOutSpawnExperienceOrb extends PrimitivePacket {
         return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutSpawnExperienceOrb.class);
     }
 
+    @Override
     public int getEntityId() {
         return this.entityId;
     }
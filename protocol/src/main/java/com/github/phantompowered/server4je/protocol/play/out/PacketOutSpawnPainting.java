@@ -25,7 +25,7 @@
 package com.github.phantompowered.server4je.protocol.play.out;
 
 import com.github.phantompowered.server4je.common.exception.ReportedException;
-import com.github.phantompowered.server4je.protocol.Packet;
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
@@ -41,7 +41,7 @@ import org.jetbrains.annotations.Range;
 
 import java.util.UUID;
 
-public class PacketOutSpawnPainting implements Packet {
+public class PacketOutSpawnPainting implements EntityPacket {
 
     private int entityId;
     private UUID entityUniqueId;
@@ -86,6 +86,7 @@ public class PacketOutSpawnPainting implements Packet {
         return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutSpawnPainting.class);
     }
 
+    @Override
     public int getEntityId() {
         return this.entityId;
     }
@@ -24,7 +24,7 @@
  */
 package com.github.phantompowered.server4je.protocol.play.out;
 
-import com.github.phantompowered.server4je.protocol.Packet;
+import com.github.phantompowered.server4je.protocol.EntityPacket;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
@@ -37,7 +37,7 @@ import org.jetbrains.annotations.Range;
 
 import java.util.UUID;
 
-public class PacketOutSpawnPlayer implements Packet {
+public class PacketOutSpawnPlayer implements EntityPacket {
 
     private int entityId;
     private UUID playerUniqueId;
@@ -83,6 +83,7 @@ public class PacketOutSpawnPlayer implements Packet {
         return PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutSpawnPlayer.class);
     }
 
+    @Override
     public int getEntityId() {
         return this.entityId;
     }
@@ -26,6 +26,7 @@ package com.github.phantompowered.server4je.protocol.play.out;
 
 import com.github.phantompowered.server4je.protocol.Packet;
 import com.github.phantompowered.server4je.protocol.annotation.BufferStatus;
+import com.github.phantompowered.server4je.protocol.annotation.OutboundPriority;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.exceptions.PacketOnlyToClientException;
 import com.github.phantompowered.server4je.protocol.id.PacketIdUtil;
@@ -35,6 +36,7 @@ import org.jetbrains.annotations.Range;
 
 import java.util.List;
 
+@OutboundPriority(OutboundPriority.Lane.BULK)
 public class PacketOutUpdateLight implements Packet {
 
     private int chunkX;
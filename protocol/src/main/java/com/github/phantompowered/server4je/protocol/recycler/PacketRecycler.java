@@ -0,0 +1,171 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.protocol.recycler;
+
+import com.github.phantompowered.server4je.common.exception.ClassShouldNotBeInstantiatedDirectlyException;
+import com.github.phantompowered.server4je.protocol.Packet;
+import com.github.phantompowered.server4je.protocol.annotation.Recyclable;
+import com.github.phantompowered.server4je.protocol.id.PacketIdUtil;
+import io.netty.util.concurrent.FastThreadLocal;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Pools the instances of packets annotated with {@link Recyclable}. Every thread has its own pool per packet
+ * class, a packet recycled by another thread than the one which took it from the pool moves to the pool of the
+ * recycling thread.
+ *
+ * <p>A packet may only be recycled by the code which took it from the pool using {@link #get(Class)}, and only once
+ * nothing references it anymore. Packets created by other code are never recycled, no matter if they are recyclable
+ * or not. In the network pipeline this means:</p>
+ * <ul>
+ *     <li>inbound packets are taken from the pool by the decoder and recycled once the handlers returned, a handler
+ *     has to copy the data of the packet if it needs it later</li>
+ *     <li>outbound packets written by the server are never recycled, they may be written to multiple channels or
+ *     reused for another write. Only packets built by the pipeline itself, for example the merged entity movement,
+ *     are recycled after they were written</li>
+ * </ul>
+ *
+ * <p>With the {@code server4je.packetRecycler.debug} system property set, packets are never reused. Instead, the
+ * place where a packet was recycled is remembered and an exception is thrown when the packet is used again.</p>
+ */
+public final class PacketRecycler {
+
+    private static final boolean DEBUG = Boolean.getBoolean("server4je.packetRecycler.debug");
+    private static final int MAX_POOLED_PER_THREAD = Integer.getInteger("server4je.packetRecycler.maxPooledPerThread", 256);
+
+    private static final ClassValue<PacketPool<?>> POOLS = new ClassValue<>() {
+        @Override
+        protected PacketPool<?> computeValue(Class<?> type) {
+            return isRecyclable(type) ? new PacketPool<>(PacketIdUtil.createPacketFactory(type.asSubclass(Packet.class))) : null;
+        }
+    };
+    // the packets recycled in debug mode with the stack trace of the place they were recycled at
+    private static final Map<Packet, Throwable> RECYCLED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private PacketRecycler() {
+        throw ClassShouldNotBeInstantiatedDirectlyException.INSTANCE;
+    }
+
+    public static boolean isRecyclable(@NotNull Class<?> packetClass) {
+        return Packet.class.isAssignableFrom(packetClass) && packetClass.isAnnotationPresent(Recyclable.class);
+    }
+
+    /**
+     * Get an instance of the given packet class, taken from the pool of the current thread if possible.
+     *
+     * @param packetClass the class of the packet
+     * @param <T> the type of the packet
+     * @return a packet instance, its data is either released or not set yet
+     */
+    @NotNull
+    public static <T extends Packet> T get(@NotNull Class<T> packetClass) {
+        //noinspection unchecked
+        PacketPool<T> pool = (PacketPool<T>) POOLS.get(packetClass);
+        if (pool == null) {
+            return PacketIdUtil.createPacketFactory(packetClass).get();
+        }
+
+        return pool.get();
+    }
+
+    /**
+     * Releases the data of the given packet and returns it to the pool of the current thread. Packets which are not
+     * recyclable are ignored.
+     *
+     * @param packet the packet to recycle, it must have been taken from the pool by the caller and must not be used
+     *               anymore after this call
+     */
+    public static void recycle(@NotNull Packet packet) {
+        PacketPool<?> pool = POOLS.get(packet.getClass());
+        if (pool == null) {
+            return;
+        }
+
+        packet.releaseData();
+        if (DEBUG) {
+            Throwable previous = RECYCLED.put(packet, new Throwable("Packet was recycled here"));
+            if (previous != null) {
+                throw new IllegalStateException("Packet " + packet.getClass().getName() + " was recycled twice", previous);
+            }
+        } else {
+            pool.recycle(packet);
+        }
+    }
+
+    /**
+     * Ensures that the given packet was not recycled yet. This check is only done in debug mode.
+     *
+     * @param packet the packet which is about to be used
+     * @throws IllegalStateException if the packet was already recycled
+     */
+    public static void ensureNotRecycled(@NotNull Packet packet) {
+        if (DEBUG) {
+            Throwable recycled = RECYCLED.get(packet);
+            if (recycled != null) {
+                throw new IllegalStateException("Packet " + packet.getClass().getName() + " is used after it was recycled", recycled);
+            }
+        }
+    }
+
+    private static final class PacketPool<T extends Packet> {
+
+        private final Supplier<T> factory;
+        private final FastThreadLocal<ArrayDeque<Packet>> pooled = new FastThreadLocal<>() {
+            @Override
+            protected ArrayDeque<Packet> initialValue() {
+                return new ArrayDeque<>();
+            }
+        };
+
+        private PacketPool(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        private T get() {
+            if (!DEBUG) {
+                Packet packet = this.pooled.get().pollLast();
+                if (packet != null) {
+                    //noinspection unchecked
+                    return (T) packet;
+                }
+            }
+
+            return this.factory.get();
+        }
+
+        private void recycle(Packet packet) {
+            ArrayDeque<Packet> pooled = this.pooled.get();
+            if (pooled.size() < MAX_POOLED_PER_THREAD) {
+                pooled.addLast(packet);
+            }
+        }
+    }
+}
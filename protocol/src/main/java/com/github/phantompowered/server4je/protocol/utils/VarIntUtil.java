@@ -0,0 +1,61 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.protocol.utils;
+
+import com.github.phantompowered.server4je.common.exception.ClassShouldNotBeInstantiatedDirectlyException;
+import org.jetbrains.annotations.Range;
+
+public final class VarIntUtil {
+
+    private VarIntUtil() {
+        throw ClassShouldNotBeInstantiatedDirectlyException.INSTANCE;
+    }
+
+    public static final int MAX_VAR_INT_SIZE = 5;
+    public static final int MAX_VAR_LONG_SIZE = 10;
+
+    /**
+     * Calculates the amount of bytes needed to encode the given value as a VarInt.
+     *
+     * @param value the value to calculate the size of
+     * @return the encoded size of the value, between 1 and 5 bytes
+     */
+    @Range(from = 1, to = MAX_VAR_INT_SIZE)
+    public static int varIntSize(int value) {
+        // every byte holds 7 bits of the value, zero still needs one byte
+        return (31 - Integer.numberOfLeadingZeros(value)) / 7 + 1;
+    }
+
+    /**
+     * Calculates the amount of bytes needed to encode the given value as a VarLong.
+     *
+     * @param value the value to calculate the size of
+     * @return the encoded size of the value, between 1 and 10 bytes
+     */
+    @Range(from = 1, to = MAX_VAR_LONG_SIZE)
+    public static int varLongSize(long value) {
+        return (63 - Long.numberOfLeadingZeros(value)) / 7 + 1;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.protocol.id;
+
+import com.github.phantompowered.server4je.common.exception.ReportedException;
+import com.github.phantompowered.server4je.protocol.login.out.PacketOutDisconnect;
+import com.github.phantompowered.server4je.protocol.play.out.PacketOutKeepAlive;
+import com.github.phantompowered.server4je.protocol.state.ProtocolState;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PacketIdUtilTest {
+
+    @Test
+    void mapsEveryOutboundPacketInItsState() {
+        assertDoesNotThrow(PacketIdUtil::verifyServerPacketIds);
+    }
+
+    @Test
+    void resolvesIdsOnlyInTheMappedState() {
+        assertDoesNotThrow(() -> PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutKeepAlive.class));
+        assertThrows(ReportedException.class, () -> PacketIdUtil.getServerPacketId(ProtocolState.LOGIN, PacketOutKeepAlive.class));
+        assertThrows(ReportedException.class, () -> PacketIdUtil.getServerPacketId(ProtocolState.PLAY, PacketOutDisconnect.class));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.protocol.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class VarIntUtilTest {
+
+    @Test
+    void calculatesTheVarIntSize() {
+        assertEquals(1, VarIntUtil.varIntSize(0));
+        for (int bytes = 1; bytes < VarIntUtil.MAX_VAR_INT_SIZE; bytes++) {
+            int largest = (1 << 7 * bytes) - 1;
+            assertEquals(bytes, VarIntUtil.varIntSize(largest));
+            assertEquals(bytes + 1, VarIntUtil.varIntSize(largest + 1));
+        }
+
+        assertEquals(VarIntUtil.MAX_VAR_INT_SIZE, VarIntUtil.varIntSize(Integer.MAX_VALUE));
+        assertEquals(VarIntUtil.MAX_VAR_INT_SIZE, VarIntUtil.varIntSize(Integer.MIN_VALUE));
+        assertEquals(VarIntUtil.MAX_VAR_INT_SIZE, VarIntUtil.varIntSize(-1));
+    }
+
+    @Test
+    void calculatesTheVarLongSize() {
+        assertEquals(1, VarIntUtil.varLongSize(0));
+        for (int bytes = 1; bytes < 9; bytes++) {
+            long largest = (1L << 7 * bytes) - 1;
+            assertEquals(bytes, VarIntUtil.varLongSize(largest));
+            assertEquals(bytes + 1, VarIntUtil.varLongSize(largest + 1));
+        }
+
+        assertEquals(9, VarIntUtil.varLongSize(Long.MAX_VALUE));
+        assertEquals(VarIntUtil.MAX_VAR_LONG_SIZE, VarIntUtil.varLongSize(Long.MIN_VALUE));
+        assertEquals(VarIntUtil.MAX_VAR_LONG_SIZE, VarIntUtil.varLongSize(-1));
+    }
+}
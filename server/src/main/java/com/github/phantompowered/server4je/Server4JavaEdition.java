@@ -34,6 +34,8 @@ import com.github.phantompowered.server4je.api.player.OfflinePlayerManager;
 import com.github.phantompowered.server4je.api.player.PlayerManager;
 import com.github.phantompowered.server4je.api.profile.PhantomPlayerProfile;
 import com.github.phantompowered.server4je.api.version.ServerVersion;
+import com.github.phantompowered.server4je.authlib.MojangAPI;
+import com.github.phantompowered.server4je.authlib.mojang.DefaultMojangAPI;
 import com.github.phantompowered.server4je.authlib.profile.GameProfile;
 import com.github.phantompowered.server4je.command.ServerCommandMap;
 import com.github.phantompowered.server4je.common.exception.ReportedException;
@@ -43,6 +45,8 @@ import com.github.phantompowered.server4je.gson.JsonDataLoader;
 import com.github.phantompowered.server4je.network.ServerNettyNetworkManager;
 import com.github.phantompowered.server4je.options.ServerCliOptionUtil;
 import com.github.phantompowered.server4je.plugin.ServerPluginManager;
+import com.github.phantompowered.server4je.profile.ChronicleProfileStore;
+import com.github.phantompowered.server4je.protocol.id.PacketIdUtil;
 import com.github.phantompowered.server4je.scheduler.ServerScheduler;
 import com.github.phantompowered.server4je.service.ServerServicesManager;
 import com.github.phantompowered.server4je.tick.ServerTicker;
@@ -83,6 +87,7 @@ import org.slf4j.LoggerFactory;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -104,12 +109,14 @@ public class Server4JavaEdition extends PhantomServer {
     private final AtomicBoolean running = new AtomicBoolean(true);
     private final ServicesManager servicesManager = new ServerServicesManager();
     private final NetworkManager networkManager = new ServerNettyNetworkManager();
+    private final DefaultMojangAPI mojangAPI = new DefaultMojangAPI();
 
     private final OptionSet options;
     private final ServerVersion serverVersion;
     private final ListeningScheduledExecutorService executorService;
 
     private ServerConfig serverConfig;
+    private ChronicleProfileStore profileStore;
 
     public Server4JavaEdition(OptionSet options) {
         this.options = options;
@@ -140,6 +147,16 @@ public class Server4JavaEdition extends PhantomServer {
         }
 
         this.serverConfig = JsonServerConfig.load(((File) this.options.valueOf("config")).toPath());
+        PacketIdUtil.verifyServerPacketIds();
+
+        try {
+            this.profileStore = new ChronicleProfileStore(Paths.get("cache", "profiles"));
+            this.mojangAPI.setProfileStore(this.profileStore);
+        } catch (Throwable throwable) {
+            LOGGER.warn("Unable to open the profile cache, looked up profiles will not survive a restart", throwable);
+        }
+
+        GameProfile.DEFAULT_SESSION_SERVICE.set(this.mojangAPI);
 
         Bukkit.getPluginManager().callEvent(new ServerInitDoneEvent(this));
         ServerTicker.start();
@@ -163,6 +180,11 @@ public class Server4JavaEdition extends PhantomServer {
         return this.networkManager;
     }
 
+    @NotNull
+    public MojangAPI getMojangAPI() {
+        return this.mojangAPI;
+    }
+
     @Override
     public void broadcast(BaseComponent[] message, @NotNull String permission) {
         PhantomServer.getInstance().filter(player -> player.hasPermission(permission)).forEach(player -> player.sendMessage(message));
@@ -309,7 +331,7 @@ public class Server4JavaEdition extends PhantomServer {
 
     @Override
     public long getConnectionThrottle() {
-        return 0;
+        return this.getConfig().getConnectionThrottleMilliseconds();
     }
 
     @Override
@@ -531,7 +553,10 @@ public class Server4JavaEdition extends PhantomServer {
 
     @Override
     public void shutdown() {
-
+        if (this.profileStore != null) {
+            this.mojangAPI.setProfileStore(null);
+            this.profileStore.close();
+        }
     }
 
     @Override
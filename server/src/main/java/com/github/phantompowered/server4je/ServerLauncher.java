@@ -24,10 +24,14 @@
  */
 package com.github.phantompowered.server4je;
 
+import com.github.phantompowered.server4je.common.enums.EnumUtil;
 import com.github.phantompowered.server4je.common.misc.KeyValueHolder;
 import com.github.phantompowered.server4je.console.ServerConsole;
 import com.github.phantompowered.server4je.logging.HeaderReader;
 import com.github.phantompowered.server4je.logging.LoggingOutputStream;
+import com.github.phantompowered.server4je.network.buffer.AllocatorProfile;
+import com.github.phantompowered.server4je.network.transport.EventLoopGroupType;
+import com.github.phantompowered.server4je.network.transport.TransportType;
 import com.github.phantompowered.server4je.options.ServerCliOptionUtil;
 import io.netty.util.ResourceLeakDetector;
 import joptsimple.OptionParser;
@@ -47,20 +51,30 @@ public final class ServerLauncher {
     public static synchronized void main(String[] args) {
         System.setSecurityManager(null);
 
-        setSystemPropertyIfUnset("io.netty.allocator.maxOrder", "9");
-        setSystemPropertyIfUnset("io.netty.noPreferDirect", "true");
+        KeyValueHolder<OptionSet, OptionParser> options = ServerCliOptionUtil.parseOptions(args);
+
+        // the event loop settings need to be known before the allocator profile is applied
+        setSystemPropertyFromOption(options.getKey(), "transport", TransportType.TRANSPORT_PROPERTY);
+        setSystemPropertyFromOption(options.getKey(), "boss-threads", EventLoopGroupType.BOSS_THREADS_PROPERTY);
+        setSystemPropertyFromOption(options.getKey(), "worker-threads", EventLoopGroupType.WORKER_THREADS_PROPERTY);
+        setSystemPropertyFromOption(options.getKey(), "thread-affinity", TransportType.THREAD_AFFINITY_PROPERTY);
+
+        AllocatorProfile allocatorProfile = ServerCliOptionUtil.getOption(
+            options.getKey(), "allocator", name -> EnumUtil.findEnumFieldByName(AllocatorProfile.class, name).orElse(null), AllocatorProfile.UNPOOLED
+        ).orElseGet(() -> {
+            LOGGER.warn("Unknown buffer allocator profile {}, falling back to unpooled", options.getKey().valueOf("allocator"));
+            return AllocatorProfile.UNPOOLED;
+        });
+        allocatorProfile.configure(ServerLauncher::setSystemPropertyIfUnset);
+
         setSystemPropertyIfUnset("io.netty.maxDirectMemory", "0");
-        setSystemPropertyIfUnset("io.netty.recycler.maxCapacity", "0");
-        setSystemPropertyIfUnset("io.netty.recycler.maxCapacity.default", "0");
         setSystemPropertyIfUnset("io.netty.selectorAutoRebuildThreshold", "0");
-        setSystemPropertyIfUnset("io.netty.allocator.type", "UNPOOLED");
         setSystemPropertyIfUnset("io.netty.tryReflectionSetAccessible", "true");
 
         if (System.getProperty("io.netty.leakDetectionLevel") == null) {
             ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.DISABLED);
         }
 
-        KeyValueHolder<OptionSet, OptionParser> options = ServerCliOptionUtil.parseOptions(args);
         if (options.getKey().has("?")) {
             try {
                 options.getValue().printHelpOn(System.out);
@@ -97,6 +111,12 @@ public final class ServerLauncher {
         Runtime.getRuntime().addShutdownHook(new Thread(server::shutdown));
     }
 
+    private static void setSystemPropertyFromOption(@NotNull OptionSet optionSet, @NotNull String option, @NotNull String key) {
+        if (optionSet.has(option)) {
+            setSystemPropertyIfUnset(key, String.valueOf(optionSet.valueOf(option)));
+        }
+    }
+
     private static void setSystemPropertyIfUnset(@NotNull String key, @NotNull String value) {
         if (System.getProperty(key) == null) {
             System.setProperty(key, value);
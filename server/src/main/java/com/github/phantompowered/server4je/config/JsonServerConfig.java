@@ -27,6 +27,7 @@ package com.github.phantompowered.server4je.config;
 import com.github.phantompowered.server4je.api.config.Messages;
 import com.github.phantompowered.server4je.api.config.ServerConfig;
 import com.github.phantompowered.server4je.api.network.NetworkListener;
+import com.github.phantompowered.server4je.network.listener.DomainSocketNetworkListener;
 import com.github.phantompowered.server4je.network.listener.ServerNetworkListener;
 import com.google.common.base.Preconditions;
 import com.google.gson.*;
@@ -80,6 +81,10 @@ public final class JsonServerConfig implements ServerConfig {
     private int maxPlayers;
     private int compressionThreshold;
     private long readTimeoutMilliseconds;
+    private long connectionThrottleMilliseconds;
+    private int connectionThrottleBurst;
+    private int maxConnectionsPerSecond;
+    private boolean tickAlignedFlushing;
 
     private JsonServerConfig() {
         this.networkListeners = Collections.singletonList(new ServerNetworkListener("0.0.0.0", 25565));
@@ -88,6 +93,10 @@ public final class JsonServerConfig implements ServerConfig {
         this.ipForwardingMode = IpForwardingMode.DISABLED;
         this.maxPlayers = 20;
         this.compressionThreshold = 256;
+        this.connectionThrottleMilliseconds = 4000;
+        this.connectionThrottleBurst = 3;
+        this.maxConnectionsPerSecond = 500;
+        this.tickAlignedFlushing = true;
     }
 
     @Override
@@ -205,6 +214,26 @@ public final class JsonServerConfig implements ServerConfig {
         return Math.max(0, this.readTimeoutMilliseconds);
     }
 
+    @Override
+    public long getConnectionThrottleMilliseconds() {
+        return Math.max(0, this.connectionThrottleMilliseconds);
+    }
+
+    @Override
+    public int getConnectionThrottleBurst() {
+        return Math.max(1, this.connectionThrottleBurst);
+    }
+
+    @Override
+    public int getMaxConnectionsPerSecond() {
+        return Math.max(0, this.maxConnectionsPerSecond);
+    }
+
+    @Override
+    public boolean isTickAlignedFlushing() {
+        return this.tickAlignedFlushing;
+    }
+
     private static final class NetworkListenerCollectionSerializer
         implements JsonSerializer<Collection<NetworkListener>>, JsonDeserializer<Collection<NetworkListener>> {
 
@@ -215,6 +244,11 @@ public final class JsonServerConfig implements ServerConfig {
 
             for (JsonElement jsonElement : jsonElements) {
                 JsonObject jsonObject = jsonElement.getAsJsonObject();
+                if (jsonObject.has("path")) {
+                    networkListeners.add(new DomainSocketNetworkListener(jsonObject.get("path").getAsString()));
+                    continue;
+                }
+
                 networkListeners.add(new ServerNetworkListener(
                     jsonObject.get("host").getAsString(),
                     jsonObject.get("port").getAsInt(),
@@ -230,6 +264,12 @@ public final class JsonServerConfig implements ServerConfig {
             JsonArray jsonElements = new JsonArray();
             for (NetworkListener networkListener : src) {
                 JsonObject jsonObject = new JsonObject();
+                if (networkListener instanceof DomainSocketNetworkListener) {
+                    jsonObject.addProperty("path", ((DomainSocketNetworkListener) networkListener).getPath());
+                    jsonElements.add(jsonObject);
+                    continue;
+                }
+
                 jsonObject.addProperty("host", networkListener.getHostString());
                 jsonObject.addProperty("port", networkListener.getPort());
                 jsonObject.addProperty("preventProxyConnections", networkListener.isPreventProxyConnections());
@@ -28,13 +28,16 @@ import com.github.phantompowered.server4je.common.exception.ClassShouldNotBeInst
 
 public final class NetworkConstants {
 
-    public static final String READ_TIMEOUT = "read-timeout";
     public static final String LEGACY_DECODER = "legacy-decoder";
     public static final String VAR_INT_21_FRAME_DECODER = "var-int-21-frame-decoder";
     public static final String LEGACY_ENCODER = "legacy-encoder";
     public static final String VAR_INT_21_FRAME_ENCODER = "var-int-21-frame-encoder";
     public static final String PACKET_DECODER = "packet-decoder";
     public static final String PACKET_ENCODER = "packet-encoder";
+    public static final String LIVENESS = "liveness";
+    public static final String MOVEMENT_COALESCER = "movement-coalescer";
+    public static final String TICK_FLUSH = "tick-flush";
+    public static final String OUTBOUND_PRIORITY = "outbound-priority";
     // lazy handlers
     public static final String PACKET_DECOMPRESSOR = "packet-decompressor";
     public static final String PACKET_COMPRESSOR = "packet-compressor";
@@ -24,14 +24,23 @@
  */
 package com.github.phantompowered.server4je.network;
 
+import com.github.phantompowered.server4je.api.PhantomServer;
+import com.github.phantompowered.server4je.api.config.ServerConfig;
 import com.github.phantompowered.server4je.api.network.NetworkListener;
 import com.github.phantompowered.server4je.api.network.NetworkManager;
 import com.github.phantompowered.server4je.common.collect.Iterables;
+import com.github.phantompowered.server4je.network.buffer.AllocatorMetrics;
 import com.github.phantompowered.server4je.network.handler.init.NetworkChannelInitializer;
+import com.github.phantompowered.server4je.network.handler.liveness.ConnectionLivenessService;
+import com.github.phantompowered.server4je.network.handler.packet.PacketLimitTable;
+import com.github.phantompowered.server4je.network.handler.throttle.ConnectionThrottleHandler;
 import com.github.phantompowered.server4je.network.transport.EventLoopGroupType;
 import com.github.phantompowered.server4je.network.transport.TransportType;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.*;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.unix.DomainSocketAddress;
 import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectMaps;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
@@ -40,10 +49,18 @@ import org.jetbrains.annotations.UnmodifiableView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
 public class ServerNettyNetworkManager implements NetworkManager {
@@ -52,10 +69,17 @@ public class ServerNettyNetworkManager implements NetworkManager {
     private static final WriteBufferWaterMark WATER_MARK = new WriteBufferWaterMark(524_288, 2_097_152);
     private static final CompletableFuture<Boolean> FALSE_COMPLETED_FUTURE = CompletableFuture.completedFuture(false);
     private static final TransportType TRANSPORT_TYPE = TransportType.getBestType();
+    // the file type bits of a unix file mode and the type of a socket
+    private static final int S_IFMT = 0170000;
+    private static final int S_IFSOCK = 0140000;
+    // with SO_REUSEPORT every boss event loop accepts connections using its own server channel
+    private static final int ACCEPTORS = TRANSPORT_TYPE.isReusePortSupported() ? EventLoopGroupType.BOSS.getThreadCount() : 1;
 
     private final EventLoopGroup boss = TRANSPORT_TYPE.getEventLoopGroup(EventLoopGroupType.BOSS);
     private final EventLoopGroup worker = TRANSPORT_TYPE.getEventLoopGroup(EventLoopGroupType.WORKER);
-    private final Object2ObjectMap<NetworkListener, ChannelFuture> activeChannels = Object2ObjectMaps.synchronize(new Object2ObjectOpenHashMap<>());
+    private final Object2ObjectMap<NetworkListener, Collection<ChannelFuture>> activeChannels = Object2ObjectMaps.synchronize(new Object2ObjectOpenHashMap<>());
+
+    private volatile ConnectionThrottleHandler connectionThrottle;
 
     @Override
     @NotNull
@@ -72,28 +96,55 @@ public class ServerNettyNetworkManager implements NetworkManager {
         }
 
         try {
-            CompletableFuture<Boolean> future = new CompletableFuture<>();
-            new ServerBootstrap()
-                .channelFactory(TRANSPORT_TYPE.getServerSocketChannelFactory())
-                .group(this.boss, this.worker)
+            boolean domainSocket = networkListener.getBindAddress() instanceof DomainSocketAddress;
+            if (domainSocket && !this.prepareDomainSocket(networkListener)) {
+                return FALSE_COMPLETED_FUTURE;
+            }
 
-                .childOption(ChannelOption.SO_REUSEADDR, true)
-                .childOption(ChannelOption.SO_KEEPALIVE, true)
+            ServerBootstrap serverBootstrap = new ServerBootstrap()
+                .group(this.boss, this.worker)
+                .handler(this.getConnectionThrottle())
                 .childOption(ChannelOption.AUTO_READ, true)
-                .childOption(ChannelOption.IP_TOS, 0x18)
-                .childOption(ChannelOption.TCP_NODELAY, true)
                 .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, WATER_MARK)
+                .childHandler(new NetworkChannelInitializer(networkListener));
+            if (domainSocket) {
+                serverBootstrap.channelFactory(TRANSPORT_TYPE.getServerDomainSocketChannelFactory());
+            } else {
+                serverBootstrap
+                    .channelFactory(TRANSPORT_TYPE.getServerSocketChannelFactory())
+                    .childOption(ChannelOption.SO_REUSEADDR, true)
+                    .childOption(ChannelOption.SO_KEEPALIVE, true)
+                    .childOption(ChannelOption.IP_TOS, 0x18)
+                    .childOption(ChannelOption.TCP_NODELAY, true);
+            }
+
+            // a domain socket path can only be bound once
+            int acceptors = domainSocket ? 1 : ACCEPTORS;
+            if (acceptors > 1) {
+                serverBootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+            }
+
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            Collection<ChannelFuture> channelFutures = new ArrayList<>(acceptors);
+            AtomicInteger pendingBinds = new AtomicInteger(acceptors);
 
-                .handler(new NetworkChannelInitializer(networkListener))
-                .bind(networkListener.getHost())
-                .addListener((ChannelFutureListener) channelFuture -> {
-                    if (channelFuture.isSuccess()) {
-                        this.activeChannels.put(networkListener, channelFuture);
+            for (int i = 0; i < acceptors; i++) {
+                channelFutures.add(serverBootstrap.bind(networkListener.getBindAddress()));
+            }
+
+            for (ChannelFuture channelFuture : channelFutures) {
+                channelFuture.addListener((ChannelFutureListener) bindFuture -> {
+                    if (!bindFuture.isSuccess()) {
+                        if (future.completeExceptionally(bindFuture.cause())) {
+                            closeChannels(channelFutures);
+                        }
+                    } else if (pendingBinds.decrementAndGet() == 0 && !future.isDone()) {
+                        this.activeChannels.put(networkListener, channelFutures);
                         future.complete(true);
-                    } else {
-                        future.completeExceptionally(channelFuture.cause());
                     }
                 });
+            }
+
             return future;
         } catch (Throwable throwable) {
             LOGGER.error("Unable to bind network listener " + networkListener.toString(), throwable);
@@ -103,17 +154,17 @@ public class ServerNettyNetworkManager implements NetworkManager {
 
     @Override
     public boolean closeNetworkListener(@NotNull NetworkListener networkListener) {
-        ChannelFuture channelFuture = this.activeChannels.remove(networkListener);
-        if (channelFuture != null) {
-            channelFuture.cancel(true);
+        Collection<ChannelFuture> channelFutures = this.activeChannels.remove(networkListener);
+        if (channelFutures != null) {
+            closeChannels(channelFutures);
         }
 
-        return channelFuture != null;
+        return channelFutures != null;
     }
 
     @Override
     public void closeNetworkListeners(@NotNull Predicate<NetworkListener> listenerFilter) {
-        for (Map.Entry<NetworkListener, ChannelFuture> entry : Iterables.allEntries(this.activeChannels.entrySet(), listenerFilter)) {
+        for (Map.Entry<NetworkListener, Collection<ChannelFuture>> entry : Iterables.allEntries(this.activeChannels.entrySet(), listenerFilter)) {
             this.closeNetworkListener(entry.getKey());
         }
     }
@@ -125,10 +176,67 @@ public class ServerNettyNetworkManager implements NetworkManager {
         }
     }
 
+    @NotNull
+    public Optional<AllocatorMetrics> getAllocatorMetrics() {
+        return AllocatorMetrics.capture(ByteBufAllocator.DEFAULT);
+    }
+
+    @NotNull
+    public ConnectionThrottleHandler getConnectionThrottle() {
+        if (this.connectionThrottle == null) {
+            synchronized (this) {
+                if (this.connectionThrottle == null) {
+                    ServerConfig config = PhantomServer.getInstance().getConfig();
+                    // behind a proxy all players connect from the address of the proxy, only the global limit applies
+                    long addressIntervalMillis = config.getIpForwardingMode() == ServerConfig.IpForwardingMode.DISABLED
+                        ? config.getConnectionThrottleMilliseconds()
+                        : 0;
+                    this.connectionThrottle = new ConnectionThrottleHandler(
+                        addressIntervalMillis, config.getConnectionThrottleBurst(), config.getMaxConnectionsPerSecond()
+                    );
+                }
+            }
+        }
+
+        return this.connectionThrottle;
+    }
+
     @Override
     public void close() {
         this.closeAllNetworkListeners();
         this.boss.shutdownGracefully();
         this.worker.shutdownGracefully();
+        ConnectionLivenessService.shutdown();
+        PacketLimitTable.reportViolations(LOGGER);
+    }
+
+    private boolean prepareDomainSocket(@NotNull NetworkListener networkListener) throws IOException {
+        if (!TRANSPORT_TYPE.isDomainSocketSupported()) {
+            LOGGER.error("Unable to bind domain socket listener {}, the {} transport does not support domain sockets",
+                networkListener.getHostString(), TRANSPORT_TYPE.getName());
+            return false;
+        }
+
+        if (PhantomServer.getInstance().getConfig().getIpForwardingMode() == ServerConfig.IpForwardingMode.DISABLED) {
+            LOGGER.warn("Domain socket listener {} is used without ip forwarding, the addresses of the clients will be unknown",
+                networkListener.getHostString());
+        }
+
+        // a socket file left behind by a server which was not shut down properly prevents binding
+        Path path = Paths.get(networkListener.getHostString());
+        if (Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+            Object mode = Files.getAttribute(path, "unix:mode", LinkOption.NOFOLLOW_LINKS);
+            if (mode instanceof Integer && ((Integer) mode & S_IFMT) == S_IFSOCK) {
+                Files.delete(path);
+            }
+        }
+
+        return true;
+    }
+
+    private static void closeChannels(@NotNull Collection<ChannelFuture> channelFutures) {
+        for (ChannelFuture channelFuture : channelFutures) {
+            channelFuture.channel().close();
+        }
     }
 }
@@ -0,0 +1,101 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.audience;
+
+import com.github.phantompowered.server4je.api.audience.Audience;
+import com.github.phantompowered.server4je.network.packet.PreparedPacket;
+import com.github.phantompowered.server4je.protocol.Packet;
+import com.github.phantompowered.server4je.protocol.buffer.DataBufferFactory;
+import io.netty.channel.Channel;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+public class ChannelAudience implements Audience<Channel> {
+
+    private final ChannelGroup channels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+    private final DataBufferFactory dataBufferFactory;
+
+    public ChannelAudience(@NotNull DataBufferFactory dataBufferFactory) {
+        this.dataBufferFactory = dataBufferFactory;
+    }
+
+    public void sendPacket(@NotNull Packet packet) {
+        if (this.channels.isEmpty()) {
+            return;
+        }
+
+        // encode the packet once, all channels are getting a view of the same encoded data
+        PreparedPacket preparedPacket = new PreparedPacket(packet, this.dataBufferFactory);
+        try {
+            for (Channel channel : this.channels) {
+                preparedPacket.writeTo(channel);
+            }
+        } finally {
+            preparedPacket.release();
+        }
+    }
+
+    @Override
+    public @NotNull Audience<Channel> filter(@NotNull Predicate<Channel> filter) {
+        ChannelAudience audience = new ChannelAudience(this.dataBufferFactory);
+        for (Channel channel : this.channels) {
+            if (filter.test(channel)) {
+                audience.track(channel);
+            }
+        }
+
+        return audience;
+    }
+
+    @Override
+    public @NotNull Audience<Channel> track(@NotNull Channel toTracked) {
+        // closed channels are removed automatically by the group
+        this.channels.add(toTracked);
+        return this;
+    }
+
+    @Override
+    public @NotNull Audience<Channel> untrack(@NotNull Channel toUntracked) {
+        this.channels.remove(toUntracked);
+        return this;
+    }
+
+    @Override
+    public @NotNull Collection<Channel> getTracked() {
+        return Collections.unmodifiableCollection(this.channels);
+    }
+
+    @Override
+    public void forEach(@NotNull Consumer<Channel> consumer) {
+        this.channels.forEach(consumer);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.buffer;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PoolArenaMetric;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocatorMetric;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A snapshot of the metrics of a pooled allocator. Allocations which are served by the thread local caches
+ * never reach the arenas, so the allocation counts of the arenas are the cache misses.
+ */
+public final class AllocatorMetrics {
+
+    private final long usedDirectMemory;
+    private final long usedHeapMemory;
+    private final int chunkSize;
+    private final int threadLocalCaches;
+    private final long[] activeDirectAllocations;
+    private final long[] activeHeapAllocations;
+    private final long directArenaAllocations;
+    private final long heapArenaAllocations;
+
+    private AllocatorMetrics(@NotNull PooledByteBufAllocatorMetric metric) {
+        this.usedDirectMemory = metric.usedDirectMemory();
+        this.usedHeapMemory = metric.usedHeapMemory();
+        this.chunkSize = metric.chunkSize();
+        this.threadLocalCaches = metric.numThreadLocalCaches();
+        this.activeDirectAllocations = activeAllocations(metric.directArenas());
+        this.activeHeapAllocations = activeAllocations(metric.heapArenas());
+        this.directArenaAllocations = arenaAllocations(metric.directArenas());
+        this.heapArenaAllocations = arenaAllocations(metric.heapArenas());
+    }
+
+    public static @NotNull Optional<AllocatorMetrics> capture(@NotNull ByteBufAllocator allocator) {
+        if (allocator instanceof PooledByteBufAllocator) {
+            return Optional.of(new AllocatorMetrics(((PooledByteBufAllocator) allocator).metric()));
+        }
+
+        return Optional.empty();
+    }
+
+    private static long @NotNull [] activeAllocations(@NotNull List<PoolArenaMetric> arenas) {
+        long[] result = new long[arenas.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = arenas.get(i).numActiveAllocations();
+        }
+
+        return result;
+    }
+
+    private static long arenaAllocations(@NotNull List<PoolArenaMetric> arenas) {
+        long result = 0;
+        for (PoolArenaMetric arena : arenas) {
+            result += arena.numAllocations();
+        }
+
+        return result;
+    }
+
+    public long getUsedDirectMemory() {
+        return this.usedDirectMemory;
+    }
+
+    public long getUsedHeapMemory() {
+        return this.usedHeapMemory;
+    }
+
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    public int getThreadLocalCaches() {
+        return this.threadLocalCaches;
+    }
+
+    public long @NotNull [] getActiveDirectAllocations() {
+        return this.activeDirectAllocations.clone();
+    }
+
+    public long @NotNull [] getActiveHeapAllocations() {
+        return this.activeHeapAllocations.clone();
+    }
+
+    public long getDirectArenaAllocations() {
+        return this.directArenaAllocations;
+    }
+
+    public long getHeapArenaAllocations() {
+        return this.heapArenaAllocations;
+    }
+
+    @Override
+    public String toString() {
+        return "AllocatorMetrics{"
+            + "usedDirectMemory=" + this.usedDirectMemory
+            + ", usedHeapMemory=" + this.usedHeapMemory
+            + ", chunkSize=" + this.chunkSize
+            + ", threadLocalCaches=" + this.threadLocalCaches
+            + ", activeDirectAllocations=" + Arrays.toString(this.activeDirectAllocations)
+            + ", activeHeapAllocations=" + Arrays.toString(this.activeHeapAllocations)
+            + ", directArenaAllocations=" + this.directArenaAllocations
+            + ", heapArenaAllocations=" + this.heapArenaAllocations
+            + '}';
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.buffer;
+
+import com.github.phantompowered.server4je.network.transport.EventLoopGroupType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.BiConsumer;
+
+/**
+ * The buffer allocator profiles the server can run with. The profile needs to be applied before netty
+ * allocates the first buffer as the allocator is configured using system properties.
+ */
+public enum AllocatorProfile {
+
+    UNPOOLED {
+        @Override
+        public void configure(@NotNull BiConsumer<String, String> propertySetter) {
+            propertySetter.accept("io.netty.allocator.type", "unpooled");
+            propertySetter.accept("io.netty.allocator.maxOrder", "9");
+            propertySetter.accept("io.netty.noPreferDirect", "true");
+            propertySetter.accept("io.netty.recycler.maxCapacity", "0");
+            propertySetter.accept("io.netty.recycler.maxCapacity.default", "0");
+        }
+    },
+    POOLED {
+        @Override
+        public void configure(@NotNull BiConsumer<String, String> propertySetter) {
+            // one arena per worker event loop, every event loop thread binds its cache to another arena
+            int arenas = EventLoopGroupType.WORKER.getThreadCount();
+
+            propertySetter.accept("io.netty.allocator.type", "pooled");
+            propertySetter.accept("io.netty.allocator.numDirectArenas", Integer.toString(arenas));
+            propertySetter.accept("io.netty.allocator.numHeapArenas", Integer.toString(arenas));
+            propertySetter.accept("io.netty.allocator.maxOrder", Integer.toString(computeMaxOrder(arenas)));
+        }
+    };
+
+    private static final int PAGE_SIZE = 8192;
+    private static final int MIN_ORDER = 7; // 1 MiB chunks
+    private static final int MAX_ORDER = 11; // 16 MiB chunks, the netty default
+    private static final int CHUNKS_PER_ARENA = 3;
+
+    public abstract void configure(@NotNull BiConsumer<String, String> propertySetter);
+
+    private static int computeMaxOrder(int arenas) {
+        // only use up to a quarter of the available memory for the chunks the arenas are holding
+        long budget = Runtime.getRuntime().maxMemory() / 4;
+
+        int order = MAX_ORDER;
+        while (order > MIN_ORDER && (long) arenas * CHUNKS_PER_ARENA * (PAGE_SIZE << order) > budget) {
+            order--;
+        }
+
+        return order;
+    }
+}
@@ -24,30 +24,52 @@
  */
 package com.github.phantompowered.server4je.network.buffer;
 
+import com.github.phantompowered.server4je.protocol.utils.VarIntUtil;
 import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 @ApiStatus.Internal
 public final class ByteBufUtil {
 
     private static final IllegalArgumentException BAD_VAR_INT_DECODED = new IllegalArgumentException("Bad VarInt decoded");
+    private static final long VAR_LONG_INT_RANGE_MASK = ~0xFFFFFFFL;
 
     private ByteBufUtil() {
         throw new UnsupportedOperationException();
     }
 
-    public static void writeUnsignedVarInt(ByteBuf byteBuf, int value) {
-        while ((value & 0xFFFFFF80) != 0L) {
-            byteBuf.writeByte((value & 0x7F) | 0x80);
-            value >>>= 7;
+    public static void writeUnsignedVarInt(@NotNull ByteBuf byteBuf, int value) {
+        // write all bytes at once instead of checking the bounds of the buffer for every single one
+        switch (VarIntUtil.varIntSize(value)) {
+            case 1:
+                byteBuf.writeByte(value);
+                break;
+            case 2:
+                byteBuf.writeShort((value & 0x7F | 0x80) << 8 | value >>> 7);
+                break;
+            case 3:
+                byteBuf.writeMedium((value & 0x7F | 0x80) << 16 | (value >>> 7 & 0x7F | 0x80) << 8 | value >>> 14);
+                break;
+            case 4:
+                byteBuf.writeInt((value & 0x7F | 0x80) << 24 | (value >>> 7 & 0x7F | 0x80) << 16 | (value >>> 14 & 0x7F | 0x80) << 8 | value >>> 21);
+                break;
+            default:
+                byteBuf.ensureWritable(VarIntUtil.MAX_VAR_INT_SIZE);
+                byteBuf.writeInt((value & 0x7F | 0x80) << 24 | (value >>> 7 & 0x7F | 0x80) << 16 | (value >>> 14 & 0x7F | 0x80) << 8 | (value >>> 21 & 0x7F | 0x80));
+                byteBuf.writeByte(value >>> 28);
+                break;
         }
-
-        byteBuf.writeByte(value & 0x7F);
     }
 
-    public static void writeUnsignedVarLong(ByteBuf byteBuf, long value) {
+    public static void writeUnsignedVarLong(@NotNull ByteBuf byteBuf, long value) {
+        if ((value & VAR_LONG_INT_RANGE_MASK) == 0) {
+            // fits into the 4 bytes of a var int which can be written at once
+            writeUnsignedVarInt(byteBuf, (int) value);
+            return;
+        }
+
+        byteBuf.ensureWritable(VarIntUtil.varLongSize(value));
         while ((value & 0xFFFFFFFFFFFFFF80L) != 0L) {
             byteBuf.writeByte(((int) value & 0x7F) | 0x80);
             value >>>= 7;
@@ -56,35 +78,85 @@ public final class ByteBufUtil {
         byteBuf.writeByte((int) value & 0x7F);
     }
 
-    public static int readUnsignedVarInt(@NotNull ByteBuf byteBuf) {
-        return (int) readUnsignedLongFixedMaximumLength(byteBuf, Math.min(5, byteBuf.readableBytes()));
+    public static void setPaddedUnsignedVarInt(@NotNull ByteBuf byteBuf, int index, int value, int size) {
+        // the value is padded using empty continuation bytes to fill the given size
+        for (int i = 0; i < size - 1; i++) {
+            byteBuf.setByte(index + i, (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        byteBuf.setByte(index + size - 1, value & 0x7F);
     }
 
-    public static long readUnsignedVarLong(@NotNull ByteBuf byteBuf) {
-        return readUnsignedLongFixedMaximumLength(byteBuf, Math.min(10, byteBuf.readableBytes()));
+    public static int varIntSize(int value) {
+        return VarIntUtil.varIntSize(value);
+    }
+
+    /**
+     * Checks if the given buffer is exclusively owned by the caller, i.e. it is no derived (sliced or
+     * duplicated) buffer and nobody else holds a reference to it. Only the content of these buffers
+     * can be modified in place without affecting someone else.
+     *
+     * @param byteBuf the buffer to check
+     * @return if the buffer is exclusively owned by the caller
+     */
+    public static boolean isExclusivelyOwned(@NotNull ByteBuf byteBuf) {
+        return byteBuf.refCnt() == 1 && byteBuf.unwrap() == null && !byteBuf.isReadOnly();
     }
 
-    private static long readUnsignedLongFixedMaximumLength(@NotNull ByteBuf byteBuf, int maxRead) {
-        Long varLong = readUnsignedLongFixedMaximumLengthSilently(byteBuf, maxRead);
-        if (varLong == null) {
-            throw BAD_VAR_INT_DECODED;
+    /**
+     * Checks if the given amount of bytes in front of the reader index can be overridden. This is only
+     * the case if the buffer is {@link #isExclusivelyOwned(ByteBuf) exclusively owned} by the caller.
+     *
+     * @param byteBuf the buffer to check
+     * @param length  the amount of bytes which should be prepended
+     * @return if the bytes in front of the reader index can be overridden safely
+     */
+    public static boolean canPrependInPlace(@NotNull ByteBuf byteBuf, int length) {
+        return byteBuf.readerIndex() >= length && isExclusivelyOwned(byteBuf);
+    }
+
+    public static void prependUnsignedVarInt(@NotNull ByteBuf byteBuf, int value) {
+        final int writerIndex = byteBuf.writerIndex();
+        final int start = byteBuf.readerIndex() - varIntSize(value);
+
+        byteBuf.setIndex(start, start);
+        writeUnsignedVarInt(byteBuf, value);
+        byteBuf.setIndex(start, writerIndex);
+    }
+
+    public static int readUnsignedVarInt(@NotNull ByteBuf byteBuf) {
+        final int readerIndex = byteBuf.readerIndex();
+        final int maxRead = Math.min(VarIntUtil.MAX_VAR_INT_SIZE, byteBuf.readableBytes());
+
+        int value = 0;
+        for (int i = 0; i < maxRead; i++) {
+            int current = byteBuf.getByte(readerIndex + i);
+            value |= (current & 0x7F) << i * 7;
+            if ((current & 0x80) == 0) {
+                byteBuf.readerIndex(readerIndex + i + 1);
+                return value;
+            }
         }
 
-        return varLong;
+        throw BAD_VAR_INT_DECODED;
     }
 
-    @Nullable
-    public static Long readUnsignedLongFixedMaximumLengthSilently(@NotNull ByteBuf byteBuf, int maxRead) {
-        long i = 0;
-        for (int j = 0; j < maxRead; j++) {
-            int k = byteBuf.readByte();
-            i |= (k & 0x7F) << j * 7;
-            if ((k & 0x80) != 128) {
-                return i;
+    public static long readUnsignedVarLong(@NotNull ByteBuf byteBuf) {
+        final int readerIndex = byteBuf.readerIndex();
+        final int maxRead = Math.min(VarIntUtil.MAX_VAR_LONG_SIZE, byteBuf.readableBytes());
+
+        long value = 0;
+        for (int i = 0; i < maxRead; i++) {
+            int current = byteBuf.getByte(readerIndex + i);
+            value |= (long) (current & 0x7F) << i * 7;
+            if ((current & 0x80) == 0) {
+                byteBuf.readerIndex(readerIndex + i + 1);
+                return value;
             }
         }
 
-        return null;
+        throw BAD_VAR_INT_DECODED;
     }
 
     public static void releaseFully(@NotNull ByteBuf byteBuf) {
@@ -54,9 +54,15 @@ public class DefaultDataBuffer extends DataBuffer {
     public void writeString(@NotNull String string, @Range(from = 0, to = Short.MAX_VALUE) int maxLength) {
         Preconditions.checkArgument(string.length() <= maxLength, "string longer than %s (%s > %s)", maxLength, string.length(), maxLength);
 
-        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
-        this.writeVarInt(bytes.length);
-        this.writeBytes(bytes);
+        // reserve the space for the length of the longest possible encoding and backfill the real length later
+        int lengthSize = ByteBufUtil.varIntSize(io.netty.buffer.ByteBufUtil.utf8MaxBytes(string));
+        int lengthIndex = this.writerIndex();
+
+        this.ensureWritable(lengthSize);
+        this.writerIndex(lengthIndex + lengthSize);
+
+        int length = this.writeCharSequence(string, StandardCharsets.UTF_8);
+        ByteBufUtil.setPaddedUnsignedVarInt(this, lengthIndex, length, lengthSize);
     }
 
     @Override
@@ -68,13 +74,9 @@ public class DefaultDataBuffer extends DataBuffer {
     @Override
     @NotNull
     public String readStringSilently(@Range(from = 0, to = Short.MAX_VALUE) int maxLength) {
-        int length = this.readVarInt();
-        byte[] bytes = new byte[length];
-        this.readBytes(bytes);
-        String s = new String(bytes, StandardCharsets.UTF_8);
-
-        if (length > maxLength) {
-            return s.substring(0, length);
+        String s = this.readUtf8(this.readVarInt());
+        if (s.length() > maxLength) {
+            return s.substring(0, maxLength);
         }
 
         return s;
@@ -86,9 +88,19 @@ public class DefaultDataBuffer extends DataBuffer {
         int length = this.readVarInt();
         Preconditions.checkArgument(length <= maxLength, "String will be longer than the maximum allowed (%s > %s)", length, maxLength);
 
-        byte[] bytes = new byte[length];
-        this.readBytes(bytes);
-        return new String(bytes, StandardCharsets.UTF_8);
+        return this.readUtf8(length);
+    }
+
+    @NotNull
+    private String readUtf8(int length) {
+        if (length < 0 || length > this.readableBytes()) {
+            throw new IndexOutOfBoundsException("Unable to read string of length " + length + ", only " + this.readableBytes() + " bytes readable");
+        }
+
+        // decode directly from the memory of the buffer without copying the bytes first
+        String s = this.toString(this.readerIndex(), length, StandardCharsets.UTF_8);
+        this.skipBytes(length);
+        return s;
     }
 
     @Override
@@ -43,7 +43,10 @@ public class PacketCipher extends MessageToMessageEncoder<ByteBuf> {
 
     @Override
     protected void encode(ChannelHandlerContext context, ByteBuf byteBuf, List<Object> list) {
-        ByteBuf in = MoreByteBufUtils.ensureCompatible(context.alloc(), this.cipher, byteBuf);
+        // shared buffers (for example prepared packets) would be encrypted for every receiver, copy them instead
+        ByteBuf in = ByteBufUtil.isExclusivelyOwned(byteBuf)
+            ? MoreByteBufUtils.ensureCompatible(context.alloc(), this.cipher, byteBuf)
+            : MoreByteBufUtils.preferredBuffer(context.alloc(), this.cipher, byteBuf.readableBytes()).writeBytes(byteBuf);
         try {
             this.cipher.process(in);
             list.add(in);
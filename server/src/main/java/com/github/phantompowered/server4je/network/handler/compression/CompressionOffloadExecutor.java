@@ -0,0 +1,98 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.handler.compression;
+
+import com.github.phantompowered.server4je.network.thread.FastNettyThreadFactory;
+import com.velocitypowered.natives.compression.VelocityCompressor;
+import com.velocitypowered.natives.util.Natives;
+import io.netty.util.concurrent.FastThreadLocal;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded pool which compresses large packets outside of the event loops. Every thread of the pool uses
+ * its own compressor, which is closed once the thread terminates after being idle or when the pool is shut down.
+ * If the pool is saturated, packets are compressed by the calling event loop instead.
+ */
+public final class CompressionOffloadExecutor {
+
+    private static final int QUEUE_SIZE = 1024;
+    private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final int level;
+    private final ThreadPoolExecutor executor;
+    private final FastThreadLocal<VelocityCompressor> compressors = new FastThreadLocal<>() {
+        @Override
+        protected VelocityCompressor initialValue() {
+            return Natives.compress.get().create(CompressionOffloadExecutor.this.level);
+        }
+
+        @Override
+        protected void onRemoval(VelocityCompressor value) {
+            value.close();
+        }
+    };
+
+    public CompressionOffloadExecutor(int level) {
+        this.level = level;
+        this.executor = new ThreadPoolExecutor(
+            THREADS, THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_SIZE),
+            new FastNettyThreadFactory("Compression Offload Thread#%d")
+        );
+        // fast thread local threads remove their thread locals when they terminate, which closes the native compressors
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Tries to submit the given task to the pool.
+     *
+     * @param task the task to run, accepting the compressor of the executing thread
+     * @return if the task was accepted, {@code false} if the pool is saturated or shut down
+     */
+    public boolean trySubmit(@NotNull CompressionTask task) {
+        try {
+            this.executor.execute(() -> task.compress(this.compressors.get()));
+            return true;
+        } catch (RejectedExecutionException exception) {
+            return false;
+        }
+    }
+
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    @FunctionalInterface
+    public interface CompressionTask {
+
+        void compress(@NotNull VelocityCompressor compressor);
+    }
+}
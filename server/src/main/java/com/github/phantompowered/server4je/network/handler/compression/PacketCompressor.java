@@ -25,43 +25,159 @@
 package com.github.phantompowered.server4je.network.handler.compression;
 
 import com.github.phantompowered.server4je.network.buffer.ByteBufUtil;
+import com.github.phantompowered.server4je.network.handler.varint.VarInt21FrameEncoder;
 import com.velocitypowered.natives.compression.VelocityCompressor;
 import com.velocitypowered.natives.util.MoreByteBufUtils;
+import com.velocitypowered.natives.util.Natives;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.EncoderException;
+import io.netty.util.ReferenceCountUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-public class PacketCompressor extends MessageToByteEncoder<ByteBuf> {
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class PacketCompressor extends ChannelOutboundHandlerAdapter {
+
+    public static final int UNCOMPRESSED_HEADER_LENGTH = 1;
+    public static final int DEFAULT_LEVEL = 6;
+    private static final int MAX_DATA_LENGTH_HEADER_LENGTH = 5;
+    private static final ClosedChannelException CHANNEL_CLOSED = new ClosedChannelException() {
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            // shared instance, a stack trace would only show where the class was initialized
+            return this;
+        }
+    };
+    // packets of at least this size are compressed by the offload executor if one is given
+    private static final int OFFLOAD_THRESHOLD = 64 * 1024;
+    // the adaptive settings are adjusted after this amount of compressed packets
+    private static final int ADAPT_INTERVAL = 64;
+    private static final double AVERAGE_WEIGHT = 0.1;
+    private static final double POOR_RATIO = 0.9;
+    private static final double GOOD_RATIO = 0.6;
+    private static final int MAX_THRESHOLD_FACTOR = 8;
+    private static final int MIN_LEVEL = 1;
+    private static final long LATENCY_BUDGET_NANOS = TimeUnit.MICROSECONDS.toNanos(250);
 
     private final int threshold;
-    private final VelocityCompressor compressor;
+    private final int level;
+    private final boolean adaptive;
+    private final CompressionOffloadExecutor offloadExecutor;
+    private final Queue<PendingWrite> pendingWrites = new ArrayDeque<>();
 
-    public PacketCompressor(int threshold, VelocityCompressor compressor) {
+    private VelocityCompressor compressor;
+    // read by prepared packets which are written from other threads
+    private volatile int currentThreshold;
+    private volatile int currentLevel;
+    private double averageRatio = GOOD_RATIO;
+    private double averageNanos;
+    private int compressedPackets;
+    private boolean flushPending;
+    private boolean removed;
+
+    public PacketCompressor(int threshold, int level, boolean adaptive, @Nullable CompressionOffloadExecutor offloadExecutor) {
         this.threshold = threshold;
-        this.compressor = compressor;
+        this.level = level;
+        this.adaptive = adaptive;
+        this.offloadExecutor = offloadExecutor;
+        this.compressor = Natives.compress.get().create(level);
+        this.currentThreshold = threshold;
+        this.currentLevel = level;
     }
 
     @Override
-    protected void encode(ChannelHandlerContext context, ByteBuf byteBuf, ByteBuf byteBuf2) throws Exception {
-        int uncompressed = byteBuf.readableBytes();
-        if (uncompressed <= this.threshold) {
-            ByteBufUtil.writeUnsignedVarInt(byteBuf2, 0);
-            byteBuf2.writeBytes(byteBuf);
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (!(msg instanceof ByteBuf)) {
+            this.writeInOrder(ctx, new PendingWrite(msg, promise));
             return;
         }
 
-        ByteBufUtil.writeUnsignedVarInt(byteBuf2, uncompressed);
-        ByteBuf in = MoreByteBufUtils.ensureCompatible(context.alloc(), this.compressor, byteBuf);
+        ByteBuf byteBuf = (ByteBuf) msg;
+        int uncompressed = byteBuf.readableBytes();
+        int threshold = this.currentThreshold;
+        if (this.offloadExecutor != null && uncompressed >= OFFLOAD_THRESHOLD) {
+            PendingWrite pendingWrite = new PendingWrite(null, promise);
+            this.pendingWrites.add(pendingWrite);
+
+            if (this.offloadExecutor.trySubmit(compressor -> this.compressOffloaded(ctx, byteBuf, compressor, threshold, pendingWrite))) {
+                return;
+            }
+
+            // the pool is saturated, compress on the event loop
+            this.pendingWrites.remove(pendingWrite);
+        }
 
+        long start = System.nanoTime();
+        ByteBuf out;
         try {
-            this.compressor.deflate(in, byteBuf2);
-        } finally {
-            ByteBufUtil.releaseFully(in);
+            out = this.encode(ctx, byteBuf, this.compressor, threshold);
+        } catch (Throwable throwable) {
+            throw throwable instanceof EncoderException ? (EncoderException) throwable : new EncoderException(throwable);
+        }
+
+        // only packets which were deflated say something about the compression ratio and time
+        if (uncompressed > threshold && this.adaptive) {
+            this.record(uncompressed, out.readableBytes(), System.nanoTime() - start);
         }
+
+        this.writeInOrder(ctx, new PendingWrite(out, promise));
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        if (!this.pendingWrites.isEmpty()) {
+            // flush again once the pending writes are written
+            this.flushPending = true;
+        }
+
+        ctx.flush();
     }
 
     @Override
-    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, ByteBuf msg, boolean preferDirect) {
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        this.removed = true;
+        this.drain(ctx);
+        this.compressor.close();
+    }
+
+    public int getThreshold() {
+        return this.threshold;
+    }
+
+    public int getCurrentThreshold() {
+        return this.currentThreshold;
+    }
+
+    public int getCurrentLevel() {
+        return this.currentLevel;
+    }
+
+    private ByteBuf encode(ChannelHandlerContext context, ByteBuf byteBuf, VelocityCompressor compressor, int threshold) throws Exception {
+        int uncompressed = byteBuf.readableBytes();
+        if (uncompressed <= threshold) {
+            if (ByteBufUtil.canPrependInPlace(byteBuf, UNCOMPRESSED_HEADER_LENGTH)) {
+                // a data length of 0 marks the packet as uncompressed
+                ByteBufUtil.prependUnsignedVarInt(byteBuf, 0);
+                return byteBuf;
+            }
+
+            ByteBuf out = allocateBuffer(context, compressor, uncompressed + UNCOMPRESSED_HEADER_LENGTH);
+            try {
+                ByteBufUtil.writeUnsignedVarInt(out, 0);
+                return out.writeBytes(byteBuf);
+            } finally {
+                byteBuf.release();
+            }
+        }
+
         // We allocate bytes to be compressed plus 1 byte. This covers two cases:
         //
         // - Compression
@@ -71,6 +187,133 @@ public class PacketCompressor extends MessageToByteEncoder<ByteBuf> {
         // - Uncompressed
         //    This is fairly obvious - we will then have one more than the uncompressed size.
         // (Copied from https://github.com/VelocityPowered/Velocity class MinecraftCompressEncoder)
-        return MoreByteBufUtils.preferredBuffer(ctx.alloc(), this.compressor, msg.readableBytes() + 1);
+        ByteBuf out = allocateBuffer(context, compressor, MAX_DATA_LENGTH_HEADER_LENGTH + uncompressed + 1);
+        ByteBuf in = MoreByteBufUtils.ensureCompatible(context.alloc(), compressor, byteBuf);
+
+        try {
+            ByteBufUtil.writeUnsignedVarInt(out, uncompressed);
+            compressor.deflate(in, out);
+            return out;
+        } catch (Throwable throwable) {
+            ByteBufUtil.releaseFully(out);
+            throw throwable;
+        } finally {
+            in.release();
+            byteBuf.release();
+        }
+    }
+
+    private void compressOffloaded(ChannelHandlerContext ctx, ByteBuf byteBuf, VelocityCompressor compressor, int threshold,
+                                   PendingWrite pendingWrite) {
+        int uncompressed = byteBuf.readableBytes();
+        try {
+            pendingWrite.message = this.encode(ctx, byteBuf, compressor, threshold);
+        } catch (Throwable throwable) {
+            pendingWrite.failure = throwable;
+        }
+
+        try {
+            // hand the result back to the event loop, the writes must happen in order
+            ctx.executor().execute(() -> {
+                pendingWrite.done = true;
+                if (pendingWrite.message != null && uncompressed > threshold && this.adaptive) {
+                    this.recordRatio(uncompressed, ((ByteBuf) pendingWrite.message).readableBytes());
+                }
+
+                this.drain(ctx);
+            });
+        } catch (RejectedExecutionException exception) {
+            // the event loop was shut down, nothing will write the packet anymore
+            ReferenceCountUtil.safeRelease(pendingWrite.message);
+            pendingWrite.promise.tryFailure(exception);
+        }
+    }
+
+    private void writeInOrder(ChannelHandlerContext ctx, PendingWrite pendingWrite) {
+        if (this.pendingWrites.isEmpty()) {
+            ctx.write(pendingWrite.message, pendingWrite.promise);
+        } else {
+            // an earlier packet is still compressed by the offload executor
+            pendingWrite.done = true;
+            this.pendingWrites.add(pendingWrite);
+        }
+    }
+
+    private void drain(ChannelHandlerContext ctx) {
+        boolean written = false;
+
+        PendingWrite pendingWrite;
+        while ((pendingWrite = this.pendingWrites.peek()) != null && pendingWrite.done) {
+            this.pendingWrites.poll();
+            if (pendingWrite.failure != null) {
+                pendingWrite.promise.tryFailure(new EncoderException(pendingWrite.failure));
+            } else if (this.removed) {
+                ReferenceCountUtil.safeRelease(pendingWrite.message);
+                pendingWrite.promise.tryFailure(CHANNEL_CLOSED);
+            } else {
+                ctx.write(pendingWrite.message, pendingWrite.promise);
+                written = true;
+            }
+        }
+
+        if (written && this.flushPending) {
+            this.flushPending = !this.pendingWrites.isEmpty();
+            ctx.flush();
+        }
+    }
+
+    private void record(int uncompressed, int compressed, long nanos) {
+        this.averageNanos += (nanos - this.averageNanos) * AVERAGE_WEIGHT;
+        this.recordRatio(uncompressed, compressed);
+    }
+
+    private void recordRatio(int uncompressed, int compressed) {
+        this.averageRatio += (compressed / (double) uncompressed - this.averageRatio) * AVERAGE_WEIGHT;
+        if (++this.compressedPackets % ADAPT_INTERVAL == 0) {
+            this.adapt();
+        }
+    }
+
+    private void adapt() {
+        // the threshold is never lowered below the one sent to the client, the client rejects smaller compressed packets
+        if (this.averageRatio > POOR_RATIO) {
+            this.currentThreshold = Math.min(this.currentThreshold * 2, this.threshold * MAX_THRESHOLD_FACTOR);
+        } else if (this.averageRatio < GOOD_RATIO) {
+            this.currentThreshold = Math.max(this.currentThreshold / 2, this.threshold);
+        }
+
+        // trade compression ratio for less time spent on the event loop
+        int level = this.currentLevel;
+        if (this.averageNanos > LATENCY_BUDGET_NANOS && level > MIN_LEVEL) {
+            level--;
+        } else if (this.averageNanos < LATENCY_BUDGET_NANOS / 4 && level < this.level) {
+            level++;
+        }
+
+        if (level != this.currentLevel) {
+            this.compressor.close();
+            this.compressor = Natives.compress.get().create(level);
+            this.currentLevel = level;
+        }
+    }
+
+    private static ByteBuf allocateBuffer(ChannelHandlerContext context, VelocityCompressor compressor, int length) {
+        // reserve space for the frame header in front of the data so that the frame encoder does not need to copy it
+        ByteBuf buffer = MoreByteBufUtils.preferredBuffer(context.alloc(), compressor, VarInt21FrameEncoder.MAX_HEADER_LENGTH + length);
+        buffer.setIndex(VarInt21FrameEncoder.MAX_HEADER_LENGTH, VarInt21FrameEncoder.MAX_HEADER_LENGTH);
+        return buffer;
+    }
+
+    private static final class PendingWrite {
+
+        private final ChannelPromise promise;
+        private Object message;
+        private Throwable failure;
+        private boolean done;
+
+        private PendingWrite(@Nullable Object message, @NotNull ChannelPromise promise) {
+            this.message = message;
+            this.promise = promise;
+        }
     }
 }
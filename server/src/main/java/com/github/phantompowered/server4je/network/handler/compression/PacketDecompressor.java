@@ -24,23 +24,33 @@
  */
 package com.github.phantompowered.server4je.network.handler.compression;
 
+import com.github.phantompowered.server4je.network.NetworkConstants;
 import com.github.phantompowered.server4je.network.buffer.ByteBufUtil;
+import com.github.phantompowered.server4je.network.handler.packet.PacketDecoder;
+import com.github.phantompowered.server4je.network.handler.packet.PacketLimitTable;
 import com.velocitypowered.natives.compression.VelocityCompressor;
 import com.velocitypowered.natives.util.MoreByteBufUtils;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageDecoder;
 
 import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
 public class PacketDecompressor extends MessageToMessageDecoder<ByteBuf> {
 
     private static final int MAX_UNCOMPRESSED_SIZE = 2 * 1024 * 1024;
+    private static final int MAX_PACKET_ID_LENGTH = 5;
 
     private final int threshold;
     private final VelocityCompressor compressor;
+    private final byte[] packetIdBytes = new byte[MAX_PACKET_ID_LENGTH];
+    private Inflater packetIdInflater;
+    private int lastFrameSize;
 
     public PacketDecompressor(int threshold, VelocityCompressor compressor) {
         this.threshold = threshold;
@@ -49,6 +59,7 @@ public class PacketDecompressor extends MessageToMessageDecoder<ByteBuf> {
 
     @Override
     protected void decode(ChannelHandlerContext context, ByteBuf byteBuf, List<Object> list) throws Exception {
+        this.lastFrameSize = byteBuf.readableBytes();
         int uncompressedSize = ByteBufUtil.readUnsignedVarInt(byteBuf);
         if (uncompressedSize == 0) {
             // uncompressed message
@@ -65,6 +76,12 @@ public class PacketDecompressor extends MessageToMessageDecoder<ByteBuf> {
             "Uncompressed size %s exceeds hard limit of %s bytes", uncompressedSize, MAX_UNCOMPRESSED_SIZE
         );
 
+        if (uncompressedSize > PacketLimitTable.getSmallestMaxUncompressedSize() && !this.checkDeclaredSize(context, byteBuf, uncompressedSize)) {
+            // do not inflate a packet which gets rejected anyway, just drop the connection
+            context.close();
+            return;
+        }
+
         ByteBuf in = MoreByteBufUtils.ensureCompatible(context.alloc(), this.compressor, byteBuf);
         ByteBuf out = MoreByteBufUtils.preferredBuffer(context.alloc(), this.compressor, uncompressedSize);
         try {
@@ -74,12 +91,64 @@ public class PacketDecompressor extends MessageToMessageDecoder<ByteBuf> {
             ByteBufUtil.releaseFully(out);
             throw throwable;
         } finally {
-            ByteBufUtil.releaseFully(in);
+            // either a retained reference to the frame or a copy of it, the frame itself is released by the decoder
+            in.release();
         }
     }
 
+    /**
+     * Get the size of the last received frame before it was decompressed. As the decompressed packet is decoded
+     * right after decompressing it, this is the received size of the packet currently being decoded.
+     *
+     * @return the size of the last received frame
+     */
+    public int getLastFrameSize() {
+        return this.lastFrameSize;
+    }
+
     @Override
     public void handlerRemoved(ChannelHandlerContext ctx) {
         this.compressor.close();
+        if (this.packetIdInflater != null) {
+            this.packetIdInflater.end();
+        }
+    }
+
+    private boolean checkDeclaredSize(ChannelHandlerContext context, ByteBuf byteBuf, int uncompressedSize) {
+        ChannelHandler decoder = context.pipeline().get(NetworkConstants.PACKET_DECODER);
+        if (!(decoder instanceof PacketDecoder)) {
+            return true;
+        }
+
+        int packetId = this.peekPacketId(byteBuf);
+        return packetId < 0 || ((PacketDecoder) decoder).checkDeclaredSize(context, packetId, uncompressedSize);
+    }
+
+    private int peekPacketId(ByteBuf byteBuf) {
+        if (this.packetIdInflater == null) {
+            this.packetIdInflater = new Inflater();
+        }
+
+        // only the first bytes are inflated, which is enough to read the packet id
+        int length;
+        try {
+            this.packetIdInflater.setInput(byteBuf.nioBuffer());
+            length = this.packetIdInflater.inflate(this.packetIdBytes);
+        } catch (DataFormatException exception) {
+            // the data is invalid, inflating the whole packet reports it
+            return -1;
+        } finally {
+            this.packetIdInflater.reset();
+        }
+
+        int packetId = 0;
+        for (int i = 0; i < length; i++) {
+            packetId |= (this.packetIdBytes[i] & 0x7F) << (i * 7);
+            if ((this.packetIdBytes[i] & 0x80) == 0) {
+                return packetId;
+            }
+        }
+
+        return -1;
     }
 }
@@ -0,0 +1,134 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.handler.flush;
+
+import com.github.phantompowered.server4je.network.packet.EncodedPacket;
+import com.github.phantompowered.server4je.protocol.annotation.FlushImmediately;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Holds back all flushes until the end of the current server tick, so that all packets written to the channel
+ * during a tick are sent using a single syscall. The channel is flushed earlier if a packet annotated with
+ * {@link FlushImmediately} was written or if the channel is no longer writable because the write buffer is full.
+ */
+public class TickFlushHandler extends ChannelDuplexHandler {
+
+    private static final ClassValue<Boolean> FLUSH_IMMEDIATELY = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.isAnnotationPresent(FlushImmediately.class);
+        }
+    };
+
+    private ChannelHandlerContext context;
+    private boolean flushImmediately;
+    private int pendingWrites;
+    private boolean flushPending;
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.context = ctx;
+        TickFlushScheduler.register(this);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        TickFlushScheduler.unregister(this);
+        this.flushPending(ctx);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        // prepared packets are flushed like the packet they were encoded from
+        Class<?> type = msg instanceof EncodedPacket ? ((EncodedPacket) msg).getPacketClass() : msg.getClass();
+        this.flushImmediately |= FLUSH_IMMEDIATELY.get(type);
+        this.pendingWrites++;
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        if (this.flushImmediately || !ctx.channel().isWritable()) {
+            this.flushNow(ctx);
+        } else {
+            this.flushPending = true;
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (!ctx.channel().isWritable()) {
+            // the write buffer reached the high water mark, do not wait for the tick end to drain it
+            this.flushPending(ctx);
+        }
+
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        this.flushPending(ctx);
+        ctx.fireExceptionCaught(cause);
+    }
+
+    @Override
+    public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        this.flushPending(ctx);
+        ctx.disconnect(promise);
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        this.flushPending(ctx);
+        ctx.close(promise);
+    }
+
+    void flushPending() {
+        this.flushPending(this.context);
+    }
+
+    @NotNull ChannelHandlerContext getContext() {
+        return this.context;
+    }
+
+    private void flushPending(@NotNull ChannelHandlerContext ctx) {
+        if (this.flushPending) {
+            this.flushNow(ctx);
+        }
+    }
+
+    private void flushNow(@NotNull ChannelHandlerContext ctx) {
+        TickFlushScheduler.recordFlush(this.pendingWrites);
+
+        this.flushImmediately = false;
+        this.flushPending = false;
+        this.pendingWrites = 0;
+
+        ctx.flush();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.handler.flush;
+
+import io.netty.util.concurrent.EventExecutor;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@ApiStatus.Internal
+public final class TickFlushScheduler {
+
+    private TickFlushScheduler() {
+        throw new UnsupportedOperationException();
+    }
+
+    // ===
+
+    private static final Map<EventExecutor, Set<TickFlushHandler>> HANDLERS = new ConcurrentHashMap<>();
+    private static final LongAdder FLUSHES = new LongAdder();
+    private static final LongAdder FLUSHED_PACKETS = new LongAdder();
+
+    private static long lastFlushes;
+    private static long lastFlushedPackets;
+    private static volatile long flushesPerTick;
+    private static volatile double packetsPerFlush;
+
+    /**
+     * Flushes all channels which have pending writes. The flushes are executed by the event loops of the channels,
+     * one task is scheduled per event loop. This method should only be called by the server ticker at the end of
+     * every tick.
+     */
+    public static void flushAll() {
+        for (Map.Entry<EventExecutor, Set<TickFlushHandler>> entry : HANDLERS.entrySet()) {
+            Set<TickFlushHandler> handlers = entry.getValue();
+            if (!handlers.isEmpty() && !entry.getKey().isShuttingDown()) {
+                entry.getKey().execute(() -> {
+                    for (TickFlushHandler handler : handlers) {
+                        handler.flushPending();
+                    }
+                });
+            }
+        }
+
+        long flushes = FLUSHES.sum();
+        long flushedPackets = FLUSHED_PACKETS.sum();
+
+        flushesPerTick = flushes - lastFlushes;
+        packetsPerFlush = flushesPerTick == 0 ? 0 : (flushedPackets - lastFlushedPackets) / (double) flushesPerTick;
+
+        lastFlushes = flushes;
+        lastFlushedPackets = flushedPackets;
+    }
+
+    public static long getFlushesPerTick() {
+        return flushesPerTick;
+    }
+
+    public static double getPacketsPerFlush() {
+        return packetsPerFlush;
+    }
+
+    static void register(@NotNull TickFlushHandler handler) {
+        HANDLERS.computeIfAbsent(handler.getContext().executor(), executor -> ConcurrentHashMap.newKeySet()).add(handler);
+    }
+
+    static void unregister(@NotNull TickFlushHandler handler) {
+        Set<TickFlushHandler> handlers = HANDLERS.get(handler.getContext().executor());
+        if (handlers != null) {
+            handlers.remove(handler);
+        }
+    }
+
+    static void recordFlush(int packets) {
+        FLUSHES.increment();
+        FLUSHED_PACKETS.add(packets);
+    }
+}
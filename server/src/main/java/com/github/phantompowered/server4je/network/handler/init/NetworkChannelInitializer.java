@@ -27,21 +27,26 @@ package com.github.phantompowered.server4je.network.handler.init;
 import com.github.phantompowered.server4je.api.PhantomServer;
 import com.github.phantompowered.server4je.api.network.NetworkListener;
 import com.github.phantompowered.server4je.network.NetworkConstants;
+import com.github.phantompowered.server4je.network.buffer.DefaultDataBufferFactory;
+import com.github.phantompowered.server4je.network.handler.flush.TickFlushHandler;
 import com.github.phantompowered.server4je.network.handler.legacy.LegacyDecoder;
 import com.github.phantompowered.server4je.network.handler.legacy.LegacyEncoder;
+import com.github.phantompowered.server4je.network.handler.liveness.ConnectionLivenessHandler;
+import com.github.phantompowered.server4je.network.handler.movement.EntityMovementCoalescer;
 import com.github.phantompowered.server4je.network.handler.packet.PacketDecoder;
 import com.github.phantompowered.server4je.network.handler.packet.PacketEncoder;
+import com.github.phantompowered.server4je.network.handler.priority.OutboundPriorityHandler;
 import com.github.phantompowered.server4je.network.handler.varint.VarInt21FrameDecoder;
 import com.github.phantompowered.server4je.network.handler.varint.VarInt21FrameEncoder;
+import com.github.phantompowered.server4je.protocol.buffer.DataBufferFactory;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
-import io.netty.handler.timeout.ReadTimeoutHandler;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.concurrent.TimeUnit;
-
 public class NetworkChannelInitializer extends ChannelInitializer<Channel> {
 
+    private static final DataBufferFactory DATA_BUFFER_FACTORY = new DefaultDataBufferFactory();
+
     private final PhantomServer phantomServer = PhantomServer.getInstance();
     private final NetworkListener networkListener;
 
@@ -52,12 +57,19 @@ public class NetworkChannelInitializer extends ChannelInitializer<Channel> {
     @Override
     protected void initChannel(@NotNull Channel channel) {
         channel.pipeline()
-            .addLast(NetworkConstants.READ_TIMEOUT, new ReadTimeoutHandler(this.phantomServer.getConfig().getReadTimeoutMilliseconds(), TimeUnit.MILLISECONDS))
             .addLast(NetworkConstants.LEGACY_DECODER, new LegacyDecoder())
             .addLast(NetworkConstants.VAR_INT_21_FRAME_DECODER, new VarInt21FrameDecoder())
             .addLast(NetworkConstants.LEGACY_ENCODER, LegacyEncoder.LEGACY_ENCODER)
             .addLast(NetworkConstants.VAR_INT_21_FRAME_ENCODER, VarInt21FrameEncoder.ENCODER)
-            .addLast(NetworkConstants.PACKET_DECODER, new PacketDecoder(null))  // TODO
-            .addLast(NetworkConstants.PACKET_ENCODER, new PacketEncoder(null)); // TODO
+            .addLast(NetworkConstants.PACKET_DECODER, new PacketDecoder(DATA_BUFFER_FACTORY))
+            .addLast(NetworkConstants.PACKET_ENCODER, new PacketEncoder(DATA_BUFFER_FACTORY))
+            .addLast(NetworkConstants.LIVENESS, new ConnectionLivenessHandler(this.phantomServer.getConfig().getReadTimeoutMilliseconds()))
+            .addLast(NetworkConstants.MOVEMENT_COALESCER, new EntityMovementCoalescer());
+
+        if (this.phantomServer.getConfig().isTickAlignedFlushing()) {
+            channel.pipeline().addLast(NetworkConstants.TICK_FLUSH, new TickFlushHandler());
+        }
+
+        channel.pipeline().addLast(NetworkConstants.OUTBOUND_PRIORITY, new OutboundPriorityHandler());
     }
 }
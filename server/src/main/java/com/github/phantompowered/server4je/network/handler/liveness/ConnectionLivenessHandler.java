@@ -0,0 +1,146 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.handler.liveness;
+
+import com.github.phantompowered.server4je.network.NetworkConstants;
+import com.github.phantompowered.server4je.network.handler.packet.PacketDecoder;
+import com.github.phantompowered.server4je.protocol.play.in.PacketInKeepAlive;
+import com.github.phantompowered.server4je.protocol.play.out.PacketOutKeepAlive;
+import com.github.phantompowered.server4je.protocol.state.ProtocolState;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the last time a packet was read from the channel and the keep-alive round trip time of the connection.
+ * The checks are done in batches by the {@link ConnectionLivenessService}.
+ */
+public class ConnectionLivenessHandler extends ChannelInboundHandlerAdapter {
+
+    private static final long KEEP_ALIVE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(15);
+    private static final long KEEP_ALIVE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final long readTimeoutNanos;
+
+    private ChannelHandlerContext context;
+    private boolean reading;
+    private long lastReadNanos;
+    private long lastKeepAliveNanos;
+    private boolean keepAlivePending;
+    private long keepAliveId;
+    private volatile long roundTripTimeNanos = -1;
+
+    public ConnectionLivenessHandler(long readTimeoutMillis) {
+        this.readTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(readTimeoutMillis);
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.context = ctx;
+        this.lastReadNanos = this.lastKeepAliveNanos = System.nanoTime();
+        ConnectionLivenessService.register(this);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        ConnectionLivenessService.unregister(this);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        this.reading = true;
+        if (msg instanceof PacketInKeepAlive && this.keepAlivePending && ((PacketInKeepAlive) msg).getKeepAliveId() == this.keepAliveId) {
+            this.keepAliveReceived(System.nanoTime() - this.lastKeepAliveNanos);
+            return;
+        }
+
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+        // only complete packets count as read, partially received frames do not keep the connection alive
+        if (this.reading) {
+            this.reading = false;
+            this.lastReadNanos = System.nanoTime();
+        }
+
+        ctx.fireChannelReadComplete();
+    }
+
+    /**
+     * Get the smoothed keep-alive round trip time of the connection.
+     *
+     * @return the round trip time in milliseconds or {@code -1} if no keep-alive was answered yet
+     */
+    public int getRoundTripTimeMillis() {
+        long roundTripTime = this.roundTripTimeNanos;
+        return roundTripTime == -1 ? -1 : (int) TimeUnit.NANOSECONDS.toMillis(roundTripTime);
+    }
+
+    void sweep(long now) {
+        if (!this.context.channel().isActive()) {
+            return;
+        }
+
+        if ((this.readTimeoutNanos > 0 && now - this.lastReadNanos > this.readTimeoutNanos)
+            || (this.keepAlivePending && now - this.lastKeepAliveNanos > KEEP_ALIVE_TIMEOUT_NANOS)) {
+            ConnectionLivenessService.recordTimeout();
+            this.context.fireExceptionCaught(ReadTimeoutException.INSTANCE);
+            this.context.close();
+            return;
+        }
+
+        if (!this.keepAlivePending && now - this.lastKeepAliveNanos >= KEEP_ALIVE_INTERVAL_NANOS && this.isPlaying()) {
+            this.keepAlivePending = true;
+            this.keepAliveId = now;
+            this.lastKeepAliveNanos = System.nanoTime();
+
+            ConnectionLivenessService.recordKeepAlive();
+            this.context.channel().writeAndFlush(new PacketOutKeepAlive(this.keepAliveId), this.context.voidPromise());
+        }
+    }
+
+    @NotNull ChannelHandlerContext getContext() {
+        return this.context;
+    }
+
+    private void keepAliveReceived(long roundTripTime) {
+        this.keepAlivePending = false;
+
+        long previous = this.roundTripTimeNanos;
+        // smoothed the same way as the vanilla server does
+        this.roundTripTimeNanos = previous == -1 ? roundTripTime : (previous * 3 + roundTripTime) / 4;
+    }
+
+    private boolean isPlaying() {
+        ChannelHandler decoder = this.context.pipeline().get(NetworkConstants.PACKET_DECODER);
+        return decoder instanceof PacketDecoder && ((PacketDecoder) decoder).getProtocolState() == ProtocolState.PLAY;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.handler.liveness;
+
+import com.github.phantompowered.server4je.network.thread.FastNettyThreadFactory;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.EventExecutor;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks the liveness of all connections using a single timer instead of one scheduled task per channel. Every
+ * sweep schedules one task per event loop which checks the read timeouts and sends the due keep-alive packets of
+ * all channels handled by that event loop.
+ */
+@ApiStatus.Internal
+public final class ConnectionLivenessService {
+
+    private ConnectionLivenessService() {
+        throw new UnsupportedOperationException();
+    }
+
+    // ===
+
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+    private static final Map<EventExecutor, Set<ConnectionLivenessHandler>> HANDLERS = new ConcurrentHashMap<>();
+    private static final Timer TIMER = new HashedWheelTimer(
+        new FastNettyThreadFactory("Connection Liveness Thread#%d"), 100, TimeUnit.MILLISECONDS, 64
+    );
+    private static final AtomicBoolean STARTED = new AtomicBoolean();
+    private static final LongAdder TIMED_OUT_CONNECTIONS = new LongAdder();
+    private static final LongAdder SENT_KEEP_ALIVES = new LongAdder();
+
+    private static volatile boolean stopped;
+
+    /**
+     * Stops the timer, no liveness checks are done after this call.
+     */
+    public static void shutdown() {
+        stopped = true;
+        TIMER.stop();
+    }
+
+    public static int getTrackedConnections() {
+        int connections = 0;
+        for (Set<ConnectionLivenessHandler> handlers : HANDLERS.values()) {
+            connections += handlers.size();
+        }
+
+        return connections;
+    }
+
+    public static long getTimedOutConnections() {
+        return TIMED_OUT_CONNECTIONS.sum();
+    }
+
+    public static long getSentKeepAlives() {
+        return SENT_KEEP_ALIVES.sum();
+    }
+
+    static void register(@NotNull ConnectionLivenessHandler handler) {
+        HANDLERS.computeIfAbsent(handler.getContext().executor(), executor -> ConcurrentHashMap.newKeySet()).add(handler);
+        if (STARTED.compareAndSet(false, true)) {
+            scheduleSweep();
+        }
+    }
+
+    static void unregister(@NotNull ConnectionLivenessHandler handler) {
+        Set<ConnectionLivenessHandler> handlers = HANDLERS.get(handler.getContext().executor());
+        if (handlers != null) {
+            handlers.remove(handler);
+        }
+    }
+
+    static void recordTimeout() {
+        TIMED_OUT_CONNECTIONS.increment();
+    }
+
+    static void recordKeepAlive() {
+        SENT_KEEP_ALIVES.increment();
+    }
+
+    private static void scheduleSweep() {
+        if (!stopped) {
+            TIMER.newTimeout(ConnectionLivenessService::sweepAll, SWEEP_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void sweepAll(@NotNull Timeout timeout) {
+        try {
+            long now = System.nanoTime();
+            for (Map.Entry<EventExecutor, Set<ConnectionLivenessHandler>> entry : HANDLERS.entrySet()) {
+                Set<ConnectionLivenessHandler> handlers = entry.getValue();
+                if (!handlers.isEmpty() && !entry.getKey().isShuttingDown()) {
+                    entry.getKey().execute(() -> {
+                        for (ConnectionLivenessHandler handler : handlers) {
+                            handler.sweep(now);
+                        }
+                    });
+                }
+            }
+        } finally {
+            scheduleSweep();
+        }
+    }
+}
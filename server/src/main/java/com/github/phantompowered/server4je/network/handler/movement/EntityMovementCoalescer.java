@@ -0,0 +1,353 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.handler.movement;
+
+import com.github.phantompowered.server4je.network.packet.EncodedPacket;
+import com.github.phantompowered.server4je.protocol.EntityPacket;
+import com.github.phantompowered.server4je.protocol.Packet;
+import com.github.phantompowered.server4je.protocol.play.out.*;
+import com.github.phantompowered.server4je.protocol.recycler.PacketRecycler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.PromiseCombiner;
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merges all movement packets of an entity written to the channel between two flushes into the least amount
+ * of packets needed to represent the latest movement state of the entity. With tick aligned flushing enabled
+ * this results in at most one movement and one head look packet per entity and tick.
+ *
+ * <p>The promises of merged writes are completed once the packets they were merged into are written. Any other
+ * packet of an entity, including prepared ones, writes the pending movement of the entity first, so the client
+ * sees the packets of an entity in the order they were written.</p>
+ */
+public class EntityMovementCoalescer extends ChannelOutboundHandlerAdapter {
+
+    private final Int2ObjectMap<EntityMovement> pending = new Int2ObjectLinkedOpenHashMap<>();
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof PacketOutEntityDestroy) {
+            // the movement of destroyed entities is not needed by the client anymore
+            for (int entityId : ((PacketOutEntityDestroy) msg).getEntityIds()) {
+                EntityMovement movement = this.pending.remove(entityId);
+                if (movement != null) {
+                    movement.discard();
+                }
+            }
+        } else if (msg instanceof PacketOutRespawn || msg instanceof PacketOutJoinGame) {
+            this.discardAll();
+        } else if (msg instanceof EntityPacket) {
+            int entityId = ((EntityPacket) msg).getEntityId();
+            if (isMovement(msg)) {
+                this.merge(ctx, entityId, (Packet) msg, promise);
+                return;
+            }
+
+            this.writePending(ctx, entityId);
+        } else if (msg instanceof EncodedPacket) {
+            // prepared packets can not be merged anymore, but they still need to be sent after the pending movement
+            EncodedPacket encodedPacket = (EncodedPacket) msg;
+            if (encodedPacket.isEntityPacket()) {
+                this.writePending(ctx, encodedPacket.getEntityId());
+            } else if (encodedPacket.getPacketClass() == PacketOutRespawn.class || encodedPacket.getPacketClass() == PacketOutJoinGame.class) {
+                this.discardAll();
+            }
+        }
+
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+        if (!this.pending.isEmpty()) {
+            for (EntityMovement movement : this.pending.values()) {
+                movement.write(ctx);
+            }
+
+            this.pending.clear();
+        }
+
+        ctx.flush();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        if (!this.pending.isEmpty()) {
+            ClosedChannelException exception = new ClosedChannelException();
+            for (EntityMovement movement : this.pending.values()) {
+                movement.fail(exception);
+            }
+
+            this.pending.clear();
+        }
+    }
+
+    private static boolean isMovement(@NotNull Object msg) {
+        return msg instanceof PacketOutEntityPosition
+            || msg instanceof PacketOutEntityPositionRotation
+            || msg instanceof PacketOutEntityRotation
+            || msg instanceof PacketOutEntityTeleport
+            || msg instanceof PacketOutEntityHeadLook;
+    }
+
+    private void writePending(@NotNull ChannelHandlerContext ctx, int entityId) {
+        EntityMovement movement = this.pending.remove(entityId);
+        if (movement != null) {
+            movement.write(ctx);
+        }
+    }
+
+        private void discardAll() {
+        for (EntityMovement movement : this.pending.values()) {
+            movement.discard();
+        }
+
+        this.pending.clear();
+    }
+
+    private void merge(@NotNull ChannelHandlerContext ctx, int entityId, @NotNull Packet packet, @NotNull ChannelPromise promise) {
+        EntityMovement movement = this.pending.get(entityId);
+        if (movement == null) {
+            this.pending.put(entityId, movement = new EntityMovement(entityId));
+        }
+
+        if (packet instanceof PacketOutEntityPosition) {
+            PacketOutEntityPosition position = (PacketOutEntityPosition) packet;
+            movement.move(ctx, position.getDeltaX(), position.getDeltaY(), position.getDeltaZ());
+            movement.onGround = position.isOnGround();
+        } else if (packet instanceof PacketOutEntityPositionRotation) {
+            PacketOutEntityPositionRotation positionRotation = (PacketOutEntityPositionRotation) packet;
+            movement.move(ctx, positionRotation.getDeltaX(), positionRotation.getDeltaY(), positionRotation.getDeltaZ());
+            movement.rotate(positionRotation.getYaw(), positionRotation.getPitch());
+            movement.onGround = positionRotation.isOnGround();
+        } else if (packet instanceof PacketOutEntityRotation) {
+            PacketOutEntityRotation rotation = (PacketOutEntityRotation) packet;
+            movement.rotate(rotation.getYaw(), rotation.getPitch());
+            movement.onGround = rotation.isOnGround();
+        } else if (packet instanceof PacketOutEntityTeleport) {
+            movement.teleport((PacketOutEntityTeleport) packet);
+        } else if (packet instanceof PacketOutEntityHeadLook) {
+            movement.hasHeadYaw = true;
+            movement.headYaw = ((PacketOutEntityHeadLook) packet).getHeadYaw();
+        }
+
+        // added after merging, a move which forced a write of the previous state belongs to the next write
+        movement.addPromise(promise);
+    }
+
+    private static final class EntityMovement {
+
+        // relative moves are sent in 1/4096 of a block
+        private static final double DELTA_SCALE = 4096D;
+
+        private final int entityId;
+
+        private boolean absolute;
+        private double x;
+        private double y;
+        private double z;
+        private boolean hasPosition;
+        private int deltaX;
+        private int deltaY;
+        private int deltaZ;
+        private boolean hasRotation;
+        private byte yaw;
+        private byte pitch;
+        private boolean onGround;
+        private boolean hasHeadYaw;
+        private byte headYaw;
+        private List<ChannelPromise> promises;
+
+        private EntityMovement(int entityId) {
+            this.entityId = entityId;
+        }
+
+        private void move(@NotNull ChannelHandlerContext ctx, int deltaX, int deltaY, int deltaZ) {
+            if (this.absolute) {
+                // moves after a teleport are merged into the teleport
+                this.x += deltaX / DELTA_SCALE;
+                this.y += deltaY / DELTA_SCALE;
+                this.z += deltaZ / DELTA_SCALE;
+                return;
+            }
+
+            if (isOutOfRange(this.deltaX + deltaX) || isOutOfRange(this.deltaY + deltaY) || isOutOfRange(this.deltaZ + deltaZ)) {
+                // the merged move is too far for a relative move and the absolute position is unknown,
+                // send the movement merged so far and start over
+                this.write(ctx);
+                this.reset();
+            }
+
+            this.hasPosition = true;
+            this.deltaX += deltaX;
+            this.deltaY += deltaY;
+            this.deltaZ += deltaZ;
+        }
+
+        private void addPromise(@NotNull ChannelPromise promise) {
+            if (!promise.isVoid()) {
+                if (this.promises == null) {
+                    this.promises = new ArrayList<>(2);
+                }
+
+                this.promises.add(promise);
+            }
+        }
+
+        private void rotate(byte yaw, byte pitch) {
+            this.hasRotation = true;
+            this.yaw = yaw;
+            this.pitch = pitch;
+        }
+
+        private void teleport(@NotNull PacketOutEntityTeleport teleport) {
+            this.absolute = true;
+            this.hasPosition = true;
+            this.x = teleport.getX();
+            this.y = teleport.getY();
+            this.z = teleport.getZ();
+            this.deltaX = this.deltaY = this.deltaZ = 0;
+            this.rotate(teleport.getYaw(), teleport.getPitch());
+            this.onGround = teleport.isOnGround();
+        }
+
+        private void write(@NotNull ChannelHandlerContext ctx) {
+            PromiseCombiner combiner = this.promises == null ? null : new PromiseCombiner(ctx.executor());
+
+            if (this.absolute) {
+                PacketOutEntityTeleport teleport = PacketRecycler.get(PacketOutEntityTeleport.class);
+                teleport.setEntityId(this.entityId);
+                teleport.setX(this.x);
+                teleport.setY(this.y);
+                teleport.setZ(this.z);
+                teleport.setYaw(this.yaw);
+                teleport.setPitch(this.pitch);
+                teleport.setOnGround(this.onGround);
+                writePacket(ctx, teleport, combiner);
+            } else if (this.hasPosition && this.hasRotation) {
+                PacketOutEntityPositionRotation positionRotation = PacketRecycler.get(PacketOutEntityPositionRotation.class);
+                positionRotation.setEntityId(this.entityId);
+                positionRotation.setDeltaX(this.deltaX);
+                positionRotation.setDeltaY(this.deltaY);
+                positionRotation.setDeltaZ(this.deltaZ);
+                positionRotation.setYaw(this.yaw);
+                positionRotation.setPitch(this.pitch);
+                positionRotation.setOnGround(this.onGround);
+                writePacket(ctx, positionRotation, combiner);
+            } else if (this.hasPosition) {
+                PacketOutEntityPosition position = PacketRecycler.get(PacketOutEntityPosition.class);
+                position.setEntityId(this.entityId);
+                position.setDeltaX(this.deltaX);
+                position.setDeltaY(this.deltaY);
+                position.setDeltaZ(this.deltaZ);
+                position.setOnGround(this.onGround);
+                writePacket(ctx, position, combiner);
+            } else if (this.hasRotation) {
+                PacketOutEntityRotation rotation = PacketRecycler.get(PacketOutEntityRotation.class);
+                rotation.setEntityId(this.entityId);
+                rotation.setYaw(this.yaw);
+                rotation.setPitch(this.pitch);
+                rotation.setOnGround(this.onGround);
+                writePacket(ctx, rotation, combiner);
+            }
+
+            if (this.hasHeadYaw) {
+                PacketOutEntityHeadLook headLook = PacketRecycler.get(PacketOutEntityHeadLook.class);
+                headLook.setEntityId(this.entityId);
+                headLook.setHeadYaw(this.headYaw);
+                writePacket(ctx, headLook, combiner);
+            }
+
+            if (combiner != null) {
+                List<ChannelPromise> promises = this.promises;
+                this.promises = null;
+
+                ChannelPromise aggregatePromise = ctx.newPromise();
+                aggregatePromise.addListener(future -> {
+                    for (ChannelPromise promise : promises) {
+                        if (future.isSuccess()) {
+                            promise.trySuccess();
+                        } else {
+                            promise.tryFailure(future.cause());
+                        }
+                    }
+                });
+                combiner.finish(aggregatePromise);
+            }
+        }
+
+        private void discard() {
+            if (this.promises != null) {
+                // the movement is superseded, which is the expected outcome of the write
+                for (ChannelPromise promise : this.promises) {
+                    promise.trySuccess();
+                }
+
+                this.promises = null;
+            }
+        }
+
+        private void fail(@NotNull Throwable cause) {
+            if (this.promises != null) {
+                for (ChannelPromise promise : this.promises) {
+                    promise.tryFailure(cause);
+                }
+
+                this.promises = null;
+            }
+        }
+
+        private static void writePacket(@NotNull ChannelHandlerContext ctx, @NotNull Packet packet, @Nullable PromiseCombiner combiner) {
+            if (combiner == null) {
+                ctx.write(packet, ctx.voidPromise());
+            } else {
+                combiner.add(ctx.write(packet));
+            }
+
+            // the packet was taken from the pool by this handler and the encoder already wrote it synchronously
+            PacketRecycler.recycle(packet);
+        }
+
+        private void reset() {
+            this.hasPosition = false;
+            this.deltaX = this.deltaY = this.deltaZ = 0;
+            this.hasRotation = false;
+            this.hasHeadYaw = false;
+        }
+
+        private static boolean isOutOfRange(int delta) {
+            return delta < Short.MIN_VALUE || delta > Short.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.handler.packet;
+
+import com.github.phantompowered.server4je.common.exception.ClassShouldNotBeInstantiatedDirectlyException;
+import com.github.phantompowered.server4je.common.exception.ReportedException;
+import com.github.phantompowered.server4je.protocol.Packet;
+import com.github.phantompowered.server4je.protocol.annotation.DecodeOnDemand;
+import com.github.phantompowered.server4je.protocol.id.PacketIdUtil;
+import com.github.phantompowered.server4je.protocol.state.ProtocolState;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of the inbound packets annotated with {@link DecodeOnDemand} something is interested in. Packets
+ * nobody is interested in are dropped by the decoder without being created or decoded.
+ */
+public final class InboundPacketInterest {
+
+    private static final LongAdder SKIPPED_PACKETS = new LongAdder();
+    private static final Object2IntMap<Class<? extends Packet>> INTERESTS = new Object2IntOpenHashMap<>();
+
+    // indexed by [state ordinal][packet id], replaced as a whole whenever the interests change
+    private static volatile boolean[][] skipped = computeSkipped();
+
+    private InboundPacketInterest() {
+        throw ClassShouldNotBeInstantiatedDirectlyException.INSTANCE;
+    }
+
+    /**
+     * Registers an interest in the given packet, it is decoded until the interest is unregistered again. Every call
+     * to this method needs to be paired with a call to {@link #unregister(Class)}.
+     *
+     * @param packetClass the class of the inbound packet to decode
+     */
+    public static synchronized void register(@NotNull Class<? extends Packet> packetClass) {
+        if (INTERESTS.put(packetClass, INTERESTS.getInt(packetClass) + 1) == 0) {
+            skipped = computeSkipped();
+        }
+    }
+
+    public static synchronized void unregister(@NotNull Class<? extends Packet> packetClass) {
+        int interests = INTERESTS.getInt(packetClass);
+        if (interests == 1) {
+            INTERESTS.removeInt(packetClass);
+            skipped = computeSkipped();
+        } else if (interests > 1) {
+            INTERESTS.put(packetClass, interests - 1);
+        }
+    }
+
+    public static boolean isSkipped(@NotNull ProtocolState state, int packetId) {
+        boolean[] stateSkipped = skipped[state.ordinal()];
+        return packetId >= 0 && packetId < stateSkipped.length && stateSkipped[packetId];
+    }
+
+    public static long getSkippedPackets() {
+        return SKIPPED_PACKETS.sum();
+    }
+
+    static void recordSkip() {
+        SKIPPED_PACKETS.increment();
+    }
+
+    private static boolean[][] computeSkipped() {
+        ProtocolState[] states = ProtocolState.values();
+        boolean[][] result = new boolean[states.length][];
+
+        for (ProtocolState state : states) {
+            Map<String, Short> ids = PacketIdUtil.getClientPacketIds(state);
+
+            int size = 0;
+            for (short id : ids.values()) {
+                size = Math.max(size, id + 1);
+            }
+
+            boolean[] stateSkipped = result[state.ordinal()] = new boolean[size];
+            for (Map.Entry<String, Short> entry : ids.entrySet()) {
+                Class<? extends Packet> packetClass = loadClass(entry.getKey());
+                stateSkipped[entry.getValue()] = packetClass.isAnnotationPresent(DecodeOnDemand.class) && !INTERESTS.containsKey(packetClass);
+            }
+        }
+
+        return result;
+    }
+
+    private static Class<? extends Packet> loadClass(String className) {
+        try {
+            return Class.forName(className).asSubclass(Packet.class);
+        } catch (ClassNotFoundException exception) {
+            throw ReportedException.forMessageAndThrowable(exception, "Unable to load packet class " + className);
+        }
+    }
+}
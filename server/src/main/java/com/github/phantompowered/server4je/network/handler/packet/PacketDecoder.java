@@ -24,25 +24,38 @@
  */
 package com.github.phantompowered.server4je.network.handler.packet;
 
+import com.github.phantompowered.server4je.network.NetworkConstants;
 import com.github.phantompowered.server4je.network.buffer.ByteBufUtil;
+import com.github.phantompowered.server4je.network.handler.compression.PacketDecompressor;
 import com.github.phantompowered.server4je.protocol.Packet;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.buffer.DataBufferFactory;
 import com.github.phantompowered.server4je.protocol.id.PacketIdUtil;
+import com.github.phantompowered.server4je.protocol.recycler.PacketRecycler;
 import com.github.phantompowered.server4je.protocol.state.ProtocolState;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
+
 public class PacketDecoder extends ChannelInboundHandlerAdapter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PacketDecoder.class);
+    private static final long RATE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // violations of every packet type are logged at most once in this interval, all others only in debug mode
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
     private static final IllegalStateException DECODE_EXCEPTION = new IllegalStateException("Did not decode packet correctly");
 
     private final DataBufferFactory dataBufferFactory;
+    private final long createdNanos = System.nanoTime();
     private ProtocolState protocolState;
+    private DataBuffer dataBuffer;
+    private long[] rateFullAt;
 
     public PacketDecoder(DataBufferFactory dataBufferFactory) {
         this.dataBufferFactory = dataBufferFactory;
@@ -62,28 +75,127 @@ public class PacketDecoder extends ChannelInboundHandlerAdapter {
             return;
         }
 
-        final DataBuffer dataBuffer = this.dataBufferFactory.createDataBuffer(byteBuf);
+        final int packetSize = byteBuf.readableBytes();
+        final DataBuffer dataBuffer = this.wrap(byteBuf);
         try {
-            final Packet packet = PacketIdUtil.getClientPacket(this.protocolState, (short) dataBuffer.readVarInt());
-
-            try {
-                packet.readData(dataBuffer);
-            } catch (Throwable throwable) {
-                throw LOGGER.isDebugEnabled() ? new RuntimeException(
-                    "Error decoding packet " + packet.getClass().getName() + " @ " + packet.getId(), throwable
-                ) : DECODE_EXCEPTION;
+            final short packetId = (short) dataBuffer.readVarInt();
+            final PacketLimit limit = PacketLimitTable.getLimit(this.protocolState, packetId);
+            if (limit != null && !this.checkLimit(ctx, limit, packetSize)) {
+                // do not spend any more time on the connection, just drop it
+                ctx.close();
+                return;
             }
 
-            if (dataBuffer.isReadable()) {
-                throw LOGGER.isDebugEnabled() ? new RuntimeException(
-                    "Did not read all bytes from packet " + packet.getClass().getName() + " @ " + packet.getId()
-                ) : DECODE_EXCEPTION;
+            if (InboundPacketInterest.isSkipped(this.protocolState, packetId)) {
+                // the frame only contains this packet, dropping the buffer skips the payload
+                InboundPacketInterest.recordSkip();
+                return;
             }
 
-            ctx.fireChannelRead(packet);
+            final Packet packet = PacketIdUtil.getClientPacket(this.protocolState, packetId);
+
+            try {
+                try {
+                    packet.readData(dataBuffer);
+                } catch (Throwable throwable) {
+                    throw LOGGER.isDebugEnabled() ? new RuntimeException(
+                        "Error decoding packet " + packet.getClass().getName() + " @ " + packet.getId(), throwable
+                    ) : DECODE_EXCEPTION;
+                }
+
+                if (dataBuffer.isReadable()) {
+                    throw LOGGER.isDebugEnabled() ? new RuntimeException(
+                        "Did not read all bytes from packet " + packet.getClass().getName() + " @ " + packet.getId()
+                    ) : DECODE_EXCEPTION;
+                }
+
+                ctx.fireChannelRead(packet);
+            } finally {
+                // the packet was taken from the pool by the decoder, handlers have to copy what they need before returning
+                PacketRecycler.recycle(packet);
+            }
         } finally {
             ByteBufUtil.releaseFully(dataBuffer);
+            dataBuffer.setDataHolder(Unpooled.EMPTY_BUFFER);
+        }
+    }
+
+    private boolean checkLimit(ChannelHandlerContext ctx, PacketLimit limit, int packetSize) {
+        if ((limit.getMaxUncompressedSize() >= 0 && packetSize > limit.getMaxUncompressedSize())
+            || (limit.getMaxCompressedSize() >= 0 && this.getReceivedSize(ctx, packetSize) > limit.getMaxCompressedSize())) {
+            limit.recordSizeViolation();
+            reportViolation(ctx, limit, "size");
+            return false;
+        }
+
+        if (limit.isRateLimited() && !this.tryAcquireRate(limit)) {
+            limit.recordRateViolation();
+            reportViolation(ctx, limit, "rate");
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks the uncompressed size a compressed packet declares before it gets inflated.
+     *
+     * @param ctx the context of the channel the packet was received from
+     * @param packetId the id of the packet, read from the start of the compressed data
+     * @param uncompressedSize the declared uncompressed size of the packet
+     * @return if the packet may be inflated, {@code false} if it exceeds the size limit of its type
+     */
+    public boolean checkDeclaredSize(ChannelHandlerContext ctx, int packetId, int uncompressedSize) {
+        PacketLimit limit = PacketLimitTable.getLimit(this.protocolState, packetId);
+        if (limit != null && limit.getMaxUncompressedSize() >= 0 && uncompressedSize > limit.getMaxUncompressedSize()) {
+            limit.recordSizeViolation();
+            reportViolation(ctx, limit, "size");
+            return false;
         }
+
+        return true;
+    }
+
+    private static void reportViolation(ChannelHandlerContext ctx, PacketLimit limit, String kind) {
+        if (limit.tryReport(REPORT_INTERVAL_NANOS)) {
+            LOGGER.warn("Packet {} sent by {} exceeds the {} limit, the limits of the packet were exceeded {} times so far",
+                limit.getPacketClassName(), ctx.channel().remoteAddress(), kind, limit.getSizeViolations() + limit.getRateViolations());
+        } else {
+            LOGGER.debug("Packet {} sent by {} exceeds the {} limit", limit.getPacketClassName(), ctx.channel().remoteAddress(), kind);
+        }
+    }
+
+    private int getReceivedSize(ChannelHandlerContext ctx, int packetSize) {
+        ChannelHandler decompressor = ctx.pipeline().get(NetworkConstants.PACKET_DECOMPRESSOR);
+        return decompressor instanceof PacketDecompressor ? ((PacketDecompressor) decompressor).getLastFrameSize() : packetSize;
+    }
+
+    private boolean tryAcquireRate(PacketLimit limit) {
+        if (this.rateFullAt == null) {
+            this.rateFullAt = new long[PacketLimitTable.getRateLimitedPackets()];
+        }
+
+        if (limit.getMaxPerSecond() == 0) {
+            return false;
+        }
+
+        // a token bucket holding the packets of one second, stored as the time at which it is full again
+        long interval = RATE_WINDOW_NANOS / limit.getMaxPerSecond();
+        long now = System.nanoTime() - this.createdNanos;
+        long fullAt = Math.max(this.rateFullAt[limit.getRateSlot()], now);
+        if (fullAt - now > RATE_WINDOW_NANOS - interval) {
+            return false;
+        }
+
+        this.rateFullAt[limit.getRateSlot()] = fullAt + interval;
+        return true;
+    }
+
+    private DataBuffer wrap(ByteBuf byteBuf) {
+        // the decoder is only used by the event loop of the channel, the same data buffer can be reused for every packet
+        return this.dataBuffer == null
+            ? this.dataBuffer = this.dataBufferFactory.createDataBuffer(byteBuf)
+            : this.dataBuffer.setDataHolder(byteBuf);
     }
 
     public ProtocolState getProtocolState() {
@@ -24,10 +24,14 @@
  */
 package com.github.phantompowered.server4je.network.handler.packet;
 
+import com.github.phantompowered.server4je.network.handler.compression.PacketCompressor;
+import com.github.phantompowered.server4je.network.handler.varint.VarInt21FrameEncoder;
 import com.github.phantompowered.server4je.protocol.Packet;
 import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
 import com.github.phantompowered.server4je.protocol.buffer.DataBufferFactory;
+import com.github.phantompowered.server4je.protocol.recycler.PacketRecycler;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 import org.slf4j.Logger;
@@ -37,7 +41,11 @@ public class PacketEncoder extends MessageToByteEncoder<Packet> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PacketEncoder.class);
     private static final IllegalStateException ENCODE_ERROR = new IllegalStateException("Unable to encode packet correctly");
+    // the maximum amount of header bytes the following encoders prepend to an uncompressed packet
+    private static final int HEADER_SPACE = VarInt21FrameEncoder.MAX_HEADER_LENGTH + PacketCompressor.UNCOMPRESSED_HEADER_LENGTH;
+
     private final DataBufferFactory dataBufferFactory;
+    private DataBuffer dataBuffer;
 
     public PacketEncoder(DataBufferFactory dataBufferFactory) {
         this.dataBufferFactory = dataBufferFactory;
@@ -45,14 +53,29 @@ public class PacketEncoder extends MessageToByteEncoder<Packet> {
 
     @Override
     protected void encode(ChannelHandlerContext channelHandlerContext, Packet packet, ByteBuf byteBuf) {
+        PacketRecycler.ensureNotRecycled(packet);
         try {
-            DataBuffer dataBuffer = this.dataBufferFactory.createDataBuffer(byteBuf);
+            byteBuf.ensureWritable(HEADER_SPACE);
+            byteBuf.setIndex(HEADER_SPACE, HEADER_SPACE);
+
+            DataBuffer dataBuffer = this.wrap(byteBuf);
             dataBuffer.writeVarInt(packet.getId());
             packet.writeData(dataBuffer);
         } catch (Throwable throwable) {
             throw LOGGER.isDebugEnabled() ? new RuntimeException(
                 "Unable to encode packet " + packet.getClass().getName() + " correctly", throwable
             ) : ENCODE_ERROR;
+        } finally {
+            if (this.dataBuffer != null) {
+                this.dataBuffer.setDataHolder(Unpooled.EMPTY_BUFFER);
+            }
         }
     }
+
+    private DataBuffer wrap(ByteBuf byteBuf) {
+        // the encoder is only used by the event loop of the channel, the same data buffer can be reused for every packet
+        return this.dataBuffer == null
+            ? this.dataBuffer = this.dataBufferFactory.createDataBuffer(byteBuf)
+            : this.dataBuffer.setDataHolder(byteBuf);
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.handler.packet;
+
+import com.github.phantompowered.server4je.protocol.annotation.InboundLimit;
+import com.github.phantompowered.server4je.protocol.state.ProtocolState;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class PacketLimit {
+
+    private final ProtocolState state;
+    private final short packetId;
+    private final String packetClassName;
+    private final int maxCompressedSize;
+    private final int maxUncompressedSize;
+    private final int maxPerSecond;
+    private final int rateSlot;
+
+    private final LongAdder sizeViolations = new LongAdder();
+    private final LongAdder rateViolations = new LongAdder();
+    private final AtomicLong nextReportNanos = new AtomicLong(System.nanoTime());
+
+    PacketLimit(ProtocolState state, short packetId, String packetClassName, InboundLimit limit, int rateSlot) {
+        this.state = state;
+        this.packetId = packetId;
+        this.packetClassName = packetClassName;
+        this.maxCompressedSize = limit.maxCompressedSize();
+        this.maxUncompressedSize = limit.maxUncompressedSize();
+        this.maxPerSecond = limit.maxPerSecond();
+        this.rateSlot = rateSlot;
+    }
+
+    public @NotNull ProtocolState getState() {
+        return this.state;
+    }
+
+    public short getPacketId() {
+        return this.packetId;
+    }
+
+    public @NotNull String getPacketClassName() {
+        return this.packetClassName;
+    }
+
+    public int getMaxCompressedSize() {
+        return this.maxCompressedSize;
+    }
+
+    public int getMaxUncompressedSize() {
+        return this.maxUncompressedSize;
+    }
+
+    public int getMaxPerSecond() {
+        return this.maxPerSecond;
+    }
+
+    public long getSizeViolations() {
+        return this.sizeViolations.sum();
+    }
+
+    public long getRateViolations() {
+        return this.rateViolations.sum();
+    }
+
+    int getRateSlot() {
+        return this.rateSlot;
+    }
+
+    boolean isRateLimited() {
+        return this.maxPerSecond >= 0;
+    }
+
+    void recordSizeViolation() {
+        this.sizeViolations.increment();
+    }
+
+    void recordRateViolation() {
+        this.rateViolations.increment();
+    }
+
+    boolean tryReport(long intervalNanos) {
+        long now = System.nanoTime();
+        long nextReport = this.nextReportNanos.get();
+        return now - nextReport >= 0 && this.nextReportNanos.compareAndSet(nextReport, now + intervalNanos);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.handler.packet;
+
+import com.github.phantompowered.server4je.common.exception.ClassShouldNotBeInstantiatedDirectlyException;
+import com.github.phantompowered.server4je.common.exception.ReportedException;
+import com.github.phantompowered.server4je.protocol.annotation.InboundLimit;
+import com.github.phantompowered.server4je.protocol.id.PacketIdUtil;
+import com.github.phantompowered.server4je.protocol.state.ProtocolState;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The limits of all inbound packets annotated with {@link InboundLimit}, indexed by the protocol state and the
+ * packet id so that they can be looked up right after the packet id was read.
+ */
+public final class PacketLimitTable {
+
+    // limits indexed by [state ordinal][packet id], null for packets without limits
+    private static final PacketLimit[][] LIMITS;
+    private static final Collection<PacketLimit> ALL_LIMITS = new ArrayList<>();
+    private static final int RATE_LIMITED_PACKETS;
+    private static final int SMALLEST_MAX_UNCOMPRESSED_SIZE;
+
+    static {
+        ProtocolState[] states = ProtocolState.values();
+        LIMITS = new PacketLimit[states.length][];
+
+        int rateSlots = 0;
+        int smallestMaxUncompressedSize = Integer.MAX_VALUE;
+        for (ProtocolState state : states) {
+            Map<String, Short> ids = PacketIdUtil.getClientPacketIds(state);
+
+            int size = 0;
+            for (short id : ids.values()) {
+                size = Math.max(size, id + 1);
+            }
+
+            PacketLimit[] limits = LIMITS[state.ordinal()] = new PacketLimit[size];
+            for (Map.Entry<String, Short> entry : ids.entrySet()) {
+                InboundLimit inboundLimit = loadClass(entry.getKey()).getAnnotation(InboundLimit.class);
+                if (inboundLimit != null) {
+                    int rateSlot = inboundLimit.maxPerSecond() >= 0 ? rateSlots++ : -1;
+                    PacketLimit limit = new PacketLimit(state, entry.getValue(), entry.getKey(), inboundLimit, rateSlot);
+
+                    limits[entry.getValue()] = limit;
+                    ALL_LIMITS.add(limit);
+
+                    if (limit.getMaxUncompressedSize() >= 0) {
+                        smallestMaxUncompressedSize = Math.min(smallestMaxUncompressedSize, limit.getMaxUncompressedSize());
+                    }
+                }
+            }
+        }
+
+        RATE_LIMITED_PACKETS = rateSlots;
+        SMALLEST_MAX_UNCOMPRESSED_SIZE = smallestMaxUncompressedSize;
+    }
+
+    private PacketLimitTable() {
+        throw ClassShouldNotBeInstantiatedDirectlyException.INSTANCE;
+    }
+
+    @Nullable
+    public static PacketLimit getLimit(@NotNull ProtocolState state, int packetId) {
+        PacketLimit[] limits = LIMITS[state.ordinal()];
+        return packetId < 0 || packetId >= limits.length ? null : limits[packetId];
+    }
+
+    /**
+     * Get all packet limits, for example to report how often a limit was exceeded.
+     *
+     * @return all packet limits
+     */
+    @NotNull
+    @UnmodifiableView
+    public static Collection<PacketLimit> getLimits() {
+        return Collections.unmodifiableCollection(ALL_LIMITS);
+    }
+
+    /**
+     * Get the smallest uncompressed size limit of all packets. Packets of at most this size never exceed an
+     * uncompressed size limit, no matter which packet they are.
+     *
+     * @return the smallest uncompressed size limit, {@link Integer#MAX_VALUE} if no packet has one
+     */
+    public static int getSmallestMaxUncompressedSize() {
+        return SMALLEST_MAX_UNCOMPRESSED_SIZE;
+    }
+
+    /**
+     * Logs how often the limits of every packet were exceeded, packets which never exceeded their limits are left out.
+     *
+     * @param logger the logger to report to
+     */
+    public static void reportViolations(@NotNull Logger logger) {
+        for (PacketLimit limit : ALL_LIMITS) {
+            long sizeViolations = limit.getSizeViolations();
+            long rateViolations = limit.getRateViolations();
+            if (sizeViolations > 0 || rateViolations > 0) {
+                logger.info("Packet {} ({}) exceeded its size limit {} and its rate limit {} times",
+                    limit.getPacketClassName(), limit.getState(), sizeViolations, rateViolations);
+            }
+        }
+    }
+
+    static int getRateLimitedPackets() {
+        return RATE_LIMITED_PACKETS;
+    }
+
+    private static Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className);
+        } catch (ClassNotFoundException exception) {
+            throw ReportedException.forMessageAndThrowable(exception, "Unable to load packet class " + className);
+        }
+    }
+}
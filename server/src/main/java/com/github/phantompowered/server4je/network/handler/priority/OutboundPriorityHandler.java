@@ -0,0 +1,203 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.handler.priority;
+
+import com.github.phantompowered.server4je.network.packet.EncodedPacket;
+import com.github.phantompowered.server4je.protocol.annotation.OutboundPriority;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Holds back bulk packets while the channel is not writable, control and interactive packets are always written
+ * directly. Once the channel is writable again the held back bulk packets are written until the channel becomes
+ * unwritable again.
+ *
+ * <p>A client which does not read its data anymore is disconnected, either once more than
+ * {@code server4je.outboundPriority.maxQueuedBulkPackets} bulk packets are held back or once more than
+ * {@code server4je.outboundPriority.maxPendingBytes} bytes are waiting to be flushed to it.</p>
+ */
+public class OutboundPriorityHandler extends ChannelDuplexHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboundPriorityHandler.class);
+    private static final int MAX_QUEUED_BULK_PACKETS = Integer.getInteger("server4je.outboundPriority.maxQueuedBulkPackets", 4096);
+    private static final long MAX_PENDING_BYTES = Long.getLong("server4je.outboundPriority.maxPendingBytes", 16_777_216);
+
+    private static final ClosedChannelException CHANNEL_CLOSED = new ClosedChannelException() {
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    };
+    private static final ClassValue<OutboundPriority.Lane> LANES = new ClassValue<>() {
+        @Override
+        protected OutboundPriority.Lane computeValue(Class<?> type) {
+            OutboundPriority priority = type.getAnnotation(OutboundPriority.class);
+            return priority == null ? OutboundPriority.Lane.INTERACTIVE : priority.value();
+        }
+    };
+
+    private final Queue<PendingWrite> bulk = new ArrayDeque<>();
+
+    private volatile long pauseStart = -1;
+    private volatile long pausedNanos;
+    private volatile int queueDepth;
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        // prepared packets are prioritized like the packet they were encoded from
+        Class<?> type = msg instanceof EncodedPacket ? ((EncodedPacket) msg).getPacketClass() : msg.getClass();
+        OutboundPriority.Lane lane = LANES.get(type);
+        if (lane == OutboundPriority.Lane.CONTROL) {
+            ctx.write(msg, promise);
+            return;
+        }
+
+        if (lane == OutboundPriority.Lane.INTERACTIVE || (this.bulk.isEmpty() && ctx.channel().isWritable())) {
+            if (ctx.channel().bytesBeforeWritable() > MAX_PENDING_BYTES) {
+                this.overflow(ctx, msg, promise, "bytes");
+                return;
+            }
+
+            ctx.write(msg, promise);
+            return;
+        }
+
+        if (this.queueDepth >= MAX_QUEUED_BULK_PACKETS) {
+            this.overflow(ctx, msg, promise, "bulk packets");
+            return;
+        }
+
+        // keep the order of the lane once the first packet of it was held back
+        this.bulk.add(new PendingWrite(msg, promise));
+        this.queueDepth++;
+
+        if (this.pauseStart == -1) {
+            this.pauseStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) {
+            this.drain(ctx);
+        }
+
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        this.discardPending();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        this.discardPending();
+        ctx.fireChannelInactive();
+    }
+
+    public int getQueueDepth() {
+        return this.queueDepth;
+    }
+
+    public long getPausedNanos() {
+        long pauseStart = this.pauseStart;
+        return pauseStart == -1 ? this.pausedNanos : this.pausedNanos + System.nanoTime() - pauseStart;
+    }
+
+    private void drain(@NotNull ChannelHandlerContext ctx) {
+        boolean written = false;
+        while (ctx.channel().isWritable()) {
+            PendingWrite pendingWrite = this.bulk.poll();
+            if (pendingWrite == null) {
+                break;
+            }
+
+            this.queueDepth--;
+            written = true;
+            ctx.write(pendingWrite.message, pendingWrite.promise);
+        }
+
+        if (written) {
+            ctx.flush();
+        }
+
+        if (this.bulk.isEmpty()) {
+            this.endPause();
+        }
+    }
+
+    private void overflow(@NotNull ChannelHandlerContext ctx, @NotNull Object msg, @NotNull ChannelPromise promise, @NotNull String limit) {
+        LOGGER.debug("Disconnecting {}, the limit of pending outbound {} was exceeded", ctx.channel().remoteAddress(), limit);
+
+        ReferenceCountUtil.safeRelease(msg);
+        if (!promise.isVoid()) {
+            promise.tryFailure(CHANNEL_CLOSED);
+        }
+
+        this.discardPending();
+        ctx.close();
+    }
+
+    private void discardPending() {
+        PendingWrite pendingWrite;
+        while ((pendingWrite = this.bulk.poll()) != null) {
+            this.queueDepth--;
+            ReferenceCountUtil.safeRelease(pendingWrite.message);
+            if (!pendingWrite.promise.isVoid()) {
+                pendingWrite.promise.tryFailure(CHANNEL_CLOSED);
+            }
+        }
+
+        this.endPause();
+    }
+
+    private void endPause() {
+        if (this.pauseStart != -1) {
+            this.pausedNanos += System.nanoTime() - this.pauseStart;
+            this.pauseStart = -1;
+        }
+    }
+
+    private static final class PendingWrite {
+
+        private final Object message;
+        private final ChannelPromise promise;
+
+        private PendingWrite(Object message, ChannelPromise promise) {
+            this.message = message;
+            this.promise = promise;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.handler.throttle;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import it.unimi.dsi.fastutil.HashCommon;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throttles the accepted connections using a token bucket per ip address and a global accept rate limit. The handler
+ * is added to the server channels and sees the accepted channels before they are registered to a worker event loop,
+ * rejected connections are closed without ever creating their pipeline.
+ *
+ * <p>The buckets are stored in a fixed size table indexed by the hash of the address, IPv6 addresses are throttled
+ * by their /64 prefix. If two addresses share a slot, the bucket of the previous address is replaced. Loopback
+ * addresses are never throttled per address, they are used by proxies running on the same machine.</p>
+ */
+@ChannelHandler.Sharable
+public class ConnectionThrottleHandler extends ChannelInboundHandlerAdapter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionThrottleHandler.class);
+
+    private static final int TABLE_SIZE = 1 << 16;
+    private static final int TABLE_MASK = TABLE_SIZE - 1;
+    private static final int STRIPES = 64;
+    private static final int STRIPE_MASK = STRIPES - 1;
+    private static final long IPV4_TAG = 1L << 32;
+
+    // the buckets are stored as the time at which they are full again (generic cell rate algorithm)
+    private final long[] addressKeys = new long[TABLE_SIZE];
+    private final long[] addressFullAt = new long[TABLE_SIZE];
+    private final Object[] locks = new Object[STRIPES];
+    private final AtomicLong globalFullAt = new AtomicLong();
+
+    private final long startNanos = System.nanoTime();
+    private final long addressIntervalNanos;
+    private final long addressToleranceNanos;
+    private final long globalIntervalNanos;
+    private final long globalToleranceNanos;
+
+    private final LongAdder acceptedConnections = new LongAdder();
+    private final LongAdder rejectedByAddress = new LongAdder();
+    private final LongAdder rejectedByGlobalLimit = new LongAdder();
+
+    /**
+     * Creates a new throttle handler.
+     *
+     * @param addressIntervalMillis the time in which a bucket of an address gains a token, {@code 0} to disable the limit per address
+     * @param addressBurst the amount of tokens a bucket of an address can hold
+     * @param maxConnectionsPerSecond the maximum amount of accepted connections per second, {@code 0} to disable the global limit
+     */
+    public ConnectionThrottleHandler(long addressIntervalMillis, int addressBurst, int maxConnectionsPerSecond) {
+        this.addressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, addressIntervalMillis));
+        this.addressToleranceNanos = this.addressIntervalNanos * (Math.max(1, addressBurst) - 1);
+        this.globalIntervalNanos = maxConnectionsPerSecond <= 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / maxConnectionsPerSecond;
+        this.globalToleranceNanos = this.globalIntervalNanos * (Math.max(1, maxConnectionsPerSecond) - 1);
+
+        for (int i = 0; i < STRIPES; i++) {
+            this.locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof Channel && !this.tryAccept(((Channel) msg).remoteAddress())) {
+            // the channel is not registered yet, close it directly
+            ((Channel) msg).unsafe().closeForcibly();
+            return;
+        }
+
+        ctx.fireChannelRead(msg);
+    }
+
+    public long getAcceptedConnections() {
+        return this.acceptedConnections.sum();
+    }
+
+    public long getRejectedByAddress() {
+        return this.rejectedByAddress.sum();
+    }
+
+    public long getRejectedByGlobalLimit() {
+        return this.rejectedByGlobalLimit.sum();
+    }
+
+    private boolean tryAccept(SocketAddress remoteAddress) {
+        if (!(remoteAddress instanceof InetSocketAddress)) {
+            // domain socket connections from a local proxy
+            return true;
+        }
+
+        // the time passed since the creation of this handler, never negative unlike the nano time itself
+        long now = System.nanoTime() - this.startNanos;
+
+        InetAddress address = ((InetSocketAddress) remoteAddress).getAddress();
+        if (this.addressIntervalNanos > 0 && address != null && !address.isLoopbackAddress()
+            && !this.tryAcquireAddress(addressKey(address), now)) {
+            this.rejectedByAddress.increment();
+            LOGGER.debug("Rejected connection from {}, the connection throttle was exceeded", address);
+            return false;
+        }
+
+        if (this.globalIntervalNanos > 0 && !this.tryAcquireGlobal(now)) {
+            this.rejectedByGlobalLimit.increment();
+            return false;
+        }
+
+        this.acceptedConnections.increment();
+        return true;
+    }
+
+    private boolean tryAcquireAddress(long key, long now) {
+        int index = (int) HashCommon.mix(key) & TABLE_MASK;
+        synchronized (this.locks[index & STRIPE_MASK]) {
+            long fullAt = this.addressKeys[index] == key ? Math.max(this.addressFullAt[index], now) : now;
+            if (fullAt - now > this.addressToleranceNanos) {
+                return false;
+            }
+
+            this.addressKeys[index] = key;
+            this.addressFullAt[index] = fullAt + this.addressIntervalNanos;
+            return true;
+        }
+    }
+
+    private boolean tryAcquireGlobal(long now) {
+        while (true) {
+            long current = this.globalFullAt.get();
+            long fullAt = Math.max(current, now);
+            if (fullAt - now > this.globalToleranceNanos) {
+                return false;
+            }
+
+            if (this.globalFullAt.compareAndSet(current, fullAt + this.globalIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    private static long addressKey(@NotNull InetAddress address) {
+        if (address instanceof Inet4Address) {
+            // the hash code of an IPv4 address is the address itself
+            return IPV4_TAG | (address.hashCode() & 0xFFFFFFFFL);
+        }
+
+        byte[] bytes = address.getAddress();
+        long prefix = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            prefix = (prefix << 8) | (bytes[i] & 0xFF);
+        }
+
+        return prefix;
+    }
+}
@@ -24,61 +24,65 @@
  */
 package com.github.phantompowered.server4je.network.handler.varint;
 
-import com.github.phantompowered.server4je.network.buffer.ByteBufUtil;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.CorruptedFrameException;
 
 import java.util.List;
 
 public class VarInt21FrameDecoder extends ByteToMessageDecoder {
 
-    @Override
-    protected void decode(ChannelHandlerContext channelHandlerContext, ByteBuf byteBuf, List<Object> list) throws Exception {
-        if (!byteBuf.isReadable()) {
-            return;
+    private static final int MAX_HEADER_LENGTH = 3;
+    private static final CorruptedFrameException BAD_FRAME_LENGTH = new CorruptedFrameException("Frame length exceeds 21 bits") {
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            // shared instance, a stack trace would only show where the class was initialized
+            return this;
         }
+    };
 
+    @Override
+    protected void decode(ChannelHandlerContext channelHandlerContext, ByteBuf byteBuf, List<Object> list) {
         if (!channelHandlerContext.channel().isActive()) {
             byteBuf.skipBytes(byteBuf.readableBytes());
             return;
         }
 
         final int readerIndex = byteBuf.readerIndex();
-        final byte[] bytes = new byte[3];
+        final int readableBytes = byteBuf.readableBytes();
 
-        for (int i = 0; i < bytes.length; i++) {
-            if (!byteBuf.isReadable()) {
-                byteBuf.readerIndex(readerIndex);
+        // parse the length in place, nothing is consumed until the whole frame is available
+        int frameLength = 0;
+        int headerLength = 0;
+        while (true) {
+            if (headerLength == readableBytes) {
                 return;
             }
 
-            bytes[i] = byteBuf.readByte();
-            if (bytes[i] >= 0) {
-                final Long varLong = ByteBufUtil.readUnsignedLongFixedMaximumLengthSilently(Unpooled.wrappedBuffer(byteBuf), 5);
-                if (varLong == null || varLong == 0) {
-                    byteBuf.skipBytes(byteBuf.readableBytes());
-                    return;
-                }
+            byte current = byteBuf.getByte(readerIndex + headerLength);
+            frameLength |= (current & 0x7F) << (headerLength++ * 7);
+            if (current >= 0) {
+                break;
+            }
 
-                int varInt = varLong.intValue();
-                if (byteBuf.readableBytes() < varInt) {
-                    byteBuf.skipBytes(byteBuf.readableBytes());
-                    return;
-                }
+            if (headerLength == MAX_HEADER_LENGTH) {
+                throw BAD_FRAME_LENGTH;
+            }
+        }
 
-                if (byteBuf.hasMemoryAddress()) {
-                    list.add(byteBuf.slice(byteBuf.readerIndex(), varInt).retain());
-                    byteBuf.skipBytes(varInt);
-                    return;
-                }
+        if (frameLength == 0) {
+            // empty frames carry no packet id, drop them
+            byteBuf.skipBytes(headerLength);
+            return;
+        }
 
-                ByteBuf directBuffer = channelHandlerContext.alloc().directBuffer(varInt);
-                byteBuf.readBytes(directBuffer);
-                list.add(directBuffer);
-                return;
-            }
+        if (readableBytes - headerLength < frameLength) {
+            // wait for the rest of the frame, the cumulation keeps the partial data
+            return;
         }
+
+        byteBuf.skipBytes(headerLength);
+        list.add(byteBuf.readRetainedSlice(frameLength));
     }
 }
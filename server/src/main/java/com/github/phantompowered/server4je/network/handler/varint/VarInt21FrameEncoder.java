@@ -25,32 +25,52 @@
 package com.github.phantompowered.server4je.network.handler.varint;
 
 import com.github.phantompowered.server4je.network.buffer.ByteBufUtil;
+import com.github.phantompowered.server4je.network.packet.EncodedPacket;
 import com.velocitypowered.natives.encryption.JavaVelocityCipher;
 import com.velocitypowered.natives.util.Natives;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.MessageToMessageEncoder;
+
+import java.util.List;
 
 @ChannelHandler.Sharable
-public class VarInt21FrameEncoder extends MessageToByteEncoder<ByteBuf> {
+public class VarInt21FrameEncoder extends MessageToMessageEncoder<Object> {
 
     public static final VarInt21FrameEncoder ENCODER = new VarInt21FrameEncoder();
+    public static final int MAX_HEADER_LENGTH = 3;
     private static final boolean HEAP_BUFFERS = Natives.cipher.get() == JavaVelocityCipher.FACTORY;
 
     private VarInt21FrameEncoder() {
     }
 
     @Override
-    protected void encode(ChannelHandlerContext channelHandlerContext, ByteBuf byteBuf, ByteBuf byteBuf2) {
-        ByteBufUtil.writeUnsignedVarInt(byteBuf2, byteBuf.readableBytes());
-        byteBuf2.writeBytes(byteBuf);
+    public boolean acceptOutboundMessage(Object msg) {
+        return msg instanceof ByteBuf || msg instanceof EncodedPacket;
     }
 
     @Override
-    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, ByteBuf msg, boolean preferDirect) {
-        return HEAP_BUFFERS
-            ? ctx.alloc().heapBuffer(5 + msg.readableBytes())
-            : ctx.alloc().directBuffer(5 + msg.readableBytes());
+    protected void encode(ChannelHandlerContext channelHandlerContext, Object msg, List<Object> list) {
+        // prepared packets share their content with other channels and will never be modified in place
+        final ByteBuf byteBuf = msg instanceof EncodedPacket ? ((EncodedPacket) msg).content() : (ByteBuf) msg;
+        final int length = byteBuf.readableBytes();
+        final int headerLength = ByteBufUtil.varIntSize(length);
+
+        if (ByteBufUtil.canPrependInPlace(byteBuf, headerLength)) {
+            // the header space was reserved by the previous encoder, backfill the length without copying
+            ByteBufUtil.prependUnsignedVarInt(byteBuf, length);
+            list.add(byteBuf.retain());
+            return;
+        }
+
+        // write the header separately, the transport sends both buffers in one gathering write
+        ByteBuf header = HEAP_BUFFERS
+            ? channelHandlerContext.alloc().heapBuffer(headerLength)
+            : channelHandlerContext.alloc().directBuffer(headerLength);
+        ByteBufUtil.writeUnsignedVarInt(header, length);
+
+        list.add(header);
+        list.add(byteBuf.retain());
     }
 }
@@ -0,0 +1,98 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.listener;
+
+import com.github.phantompowered.server4je.api.network.NetworkListener;
+import io.netty.channel.unix.DomainSocketAddress;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+/**
+ * A listener bound to a unix domain socket, used by proxies running on the same host. Connections made through
+ * it have no client address, the address needs to be forwarded by the proxy.
+ */
+public class DomainSocketNetworkListener implements NetworkListener {
+
+    private final String path;
+
+    private transient DomainSocketAddress socketAddress;
+
+    public DomainSocketNetworkListener(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Get an unresolved placeholder address with the path of the socket as host name, the listener is not bound to
+     * an inet address.
+     *
+     * @return an unresolved address holding the path of the socket
+     */
+    @Override
+    @NotNull
+    public InetSocketAddress getHost() {
+        return InetSocketAddress.createUnresolved(this.path, 0);
+    }
+
+    @Override
+    @NotNull
+    public String getHostString() {
+        return this.path;
+    }
+
+    @Override
+    public @Range(from = 0, to = 65535) int getPort() {
+        return 0;
+    }
+
+    @Override
+    @NotNull
+    public SocketAddress getBindAddress() {
+        if (this.socketAddress == null) {
+            this.socketAddress = new DomainSocketAddress(this.path);
+        }
+
+        return this.socketAddress;
+    }
+
+    @NotNull
+    public String getPath() {
+        return this.path;
+    }
+
+    @Override
+    public boolean isPreventProxyConnections() {
+        return false;
+    }
+
+    @Override
+    public void setPreventProxyConnections(boolean preventProxyConnections) {
+        if (preventProxyConnections) {
+            throw new UnsupportedOperationException("Domain socket listeners are only used for proxy connections");
+        }
+    }
+}
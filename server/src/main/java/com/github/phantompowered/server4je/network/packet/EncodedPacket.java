@@ -0,0 +1,75 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.packet;
+
+import com.github.phantompowered.server4je.protocol.EntityPacket;
+import com.github.phantompowered.server4je.protocol.Packet;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A packet which is already encoded (and compressed if needed) and only needs to get framed. These messages
+ * are passed through the packet encoder and compressor untouched. The type and the entity of the source packet
+ * are kept, so handlers which order or prioritize packets can treat it like the source packet.
+ */
+public class EncodedPacket extends DefaultByteBufHolder {
+
+    private final Class<? extends Packet> packetClass;
+    private final int entityId;
+
+    public EncodedPacket(@NotNull ByteBuf data, @NotNull Packet packet) {
+        this(data, packet.getClass(), packet instanceof EntityPacket ? ((EntityPacket) packet).getEntityId() : 0);
+    }
+
+    protected EncodedPacket(@NotNull ByteBuf data, @NotNull Class<? extends Packet> packetClass, int entityId) {
+        super(data);
+        this.packetClass = packetClass;
+        this.entityId = entityId;
+    }
+
+    public @NotNull Class<? extends Packet> getPacketClass() {
+        return this.packetClass;
+    }
+
+    public boolean isEntityPacket() {
+        return EntityPacket.class.isAssignableFrom(this.packetClass);
+    }
+
+    /**
+     * Get the id of the entity the source packet belongs to. The id is only valid if the source packet is an
+     * {@link #isEntityPacket() entity packet}.
+     *
+     * @return the id of the entity the source packet belongs to
+     */
+    public int getEntityId() {
+        return this.entityId;
+    }
+
+    @Override
+    public @NotNull EncodedPacket replace(@NotNull ByteBuf content) {
+        return new EncodedPacket(content, this.packetClass, this.entityId);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.packet;
+
+import com.github.phantompowered.server4je.common.exception.ReportedException;
+import com.github.phantompowered.server4je.network.NetworkConstants;
+import com.github.phantompowered.server4je.network.buffer.ByteBufUtil;
+import com.github.phantompowered.server4je.network.handler.compression.PacketCompressor;
+import com.github.phantompowered.server4je.protocol.Packet;
+import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
+import com.github.phantompowered.server4je.protocol.buffer.DataBufferFactory;
+import com.github.phantompowered.server4je.protocol.recycler.PacketRecycler;
+import com.velocitypowered.natives.compression.VelocityCompressor;
+import com.velocitypowered.natives.util.MoreByteBufUtils;
+import com.velocitypowered.natives.util.Natives;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.IllegalReferenceCountException;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.zip.DataFormatException;
+
+/**
+ * A packet which gets encoded only once for every compression level it is sent with, no matter to how
+ * many channels it is written. Every channel gets a duplicate of the encoded data which shares the content
+ * with all other receivers. The current adaptive threshold and level of the compressor of every channel are
+ * respected.
+ */
+public class PreparedPacket extends AbstractReferenceCounted {
+
+    // the keys of the encodings which are not compressed, all other keys are the compression level
+    private static final int UNCOMPRESSED = Integer.MIN_VALUE;
+    private static final int UNCOMPRESSED_WITH_HEADER = Integer.MIN_VALUE + 1;
+
+    private final Packet packet;
+    private final DataBufferFactory dataBufferFactory;
+    private final Int2ObjectMap<ByteBuf> encoded = new Int2ObjectOpenHashMap<>(2);
+
+    public PreparedPacket(@NotNull Packet packet, @NotNull DataBufferFactory dataBufferFactory) {
+        PacketRecycler.ensureNotRecycled(packet);
+        this.packet = packet;
+        this.dataBufferFactory = dataBufferFactory;
+    }
+
+    public void writeTo(@NotNull Channel channel) {
+        ChannelHandler handler = channel.pipeline().get(NetworkConstants.PACKET_COMPRESSOR);
+
+        ByteBuf data;
+        if (handler instanceof PacketCompressor) {
+            PacketCompressor compressor = (PacketCompressor) handler;
+            data = this.getCompressed(channel.alloc(), compressor.getCurrentThreshold(), compressor.getCurrentLevel());
+        } else {
+            data = this.getEncoded(channel.alloc(), UNCOMPRESSED);
+        }
+
+        channel.writeAndFlush(new EncodedPacket(data.retainedDuplicate(), this.packet), channel.voidPromise());
+    }
+
+    public @NotNull Packet getPacket() {
+        return this.packet;
+    }
+
+    @Override
+    public @NotNull PreparedPacket touch(Object hint) {
+        return this;
+    }
+
+    @Override
+    protected synchronized void deallocate() {
+        for (ByteBuf byteBuf : this.encoded.values()) {
+            byteBuf.release();
+        }
+
+        this.encoded.clear();
+    }
+
+    private synchronized @NotNull ByteBuf getCompressed(@NotNull ByteBufAllocator allocator, int threshold, int level) {
+        int length = this.getEncoded(allocator, UNCOMPRESSED).readableBytes();
+        return this.getEncoded(allocator, length <= threshold ? UNCOMPRESSED_WITH_HEADER : level);
+    }
+
+    private synchronized @NotNull ByteBuf getEncoded(@NotNull ByteBufAllocator allocator, int key) {
+        if (this.refCnt() == 0) {
+            throw new IllegalReferenceCountException(0);
+        }
+
+        ByteBuf byteBuf = this.encoded.get(key);
+        if (byteBuf == null) {
+            if (key == UNCOMPRESSED) {
+                byteBuf = this.encode(allocator);
+            } else if (key == UNCOMPRESSED_WITH_HEADER) {
+                byteBuf = this.prependUncompressedHeader(allocator);
+            } else {
+                byteBuf = this.compress(allocator, key);
+            }
+
+            this.encoded.put(key, byteBuf);
+        }
+
+        return byteBuf;
+    }
+
+    private @NotNull ByteBuf encode(@NotNull ByteBufAllocator allocator) {
+        ByteBuf byteBuf = allocator.ioBuffer();
+        try {
+            DataBuffer dataBuffer = this.dataBufferFactory.createDataBuffer(byteBuf);
+            dataBuffer.writeVarInt(this.packet.getId());
+            this.packet.writeData(dataBuffer);
+            return byteBuf;
+        } catch (Throwable throwable) {
+            byteBuf.release();
+            throw throwable;
+        }
+    }
+
+    private @NotNull ByteBuf prependUncompressedHeader(@NotNull ByteBufAllocator allocator) {
+        ByteBuf uncompressed = this.getEncoded(allocator, UNCOMPRESSED);
+        int length = uncompressed.readableBytes();
+
+        ByteBuf out = allocator.ioBuffer(PacketCompressor.UNCOMPRESSED_HEADER_LENGTH + length);
+        ByteBufUtil.writeUnsignedVarInt(out, 0);
+        return out.writeBytes(uncompressed, uncompressed.readerIndex(), length);
+    }
+
+    private @NotNull ByteBuf compress(@NotNull ByteBufAllocator allocator, int level) {
+        ByteBuf uncompressed = this.getEncoded(allocator, UNCOMPRESSED);
+        int length = uncompressed.readableBytes();
+
+        // the compressor of the channels can not be used as the packet may be prepared outside of their event loops
+        VelocityCompressor compressor = Natives.compress.get().create(level);
+        ByteBuf in = MoreByteBufUtils.ensureCompatible(allocator, compressor, uncompressed.duplicate());
+        ByteBuf out = MoreByteBufUtils.preferredBuffer(allocator, compressor, ByteBufUtil.varIntSize(length) + length + 1);
+
+        try {
+            ByteBufUtil.writeUnsignedVarInt(out, length);
+            compressor.deflate(in, out);
+            return out;
+        } catch (DataFormatException exception) {
+            out.release();
+            throw ReportedException.forMessageAndThrowable(exception, "Unable to compress prepared packet " + this.packet.getClass().getName());
+        } finally {
+            in.release();
+            compressor.close();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.thread;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A thread factory which pins every created thread to its own cpu core while it is running. Pinning uses the
+ * OpenHFT affinity library if it is on the classpath, the threads are not pinned otherwise.
+ */
+public final class AffinityThreadFactory implements ThreadFactory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AffinityThreadFactory.class);
+    private static final Method ACQUIRE_LOCK;
+
+    static {
+        Method acquireLock;
+        try {
+            acquireLock = Class.forName("net.openhft.affinity.AffinityLock").getMethod("acquireLock");
+        } catch (ReflectiveOperationException | LinkageError exception) {
+            LOGGER.warn("Thread affinity is enabled but the OpenHFT affinity library is not available, threads will not be pinned");
+            acquireLock = null;
+        }
+
+        ACQUIRE_LOCK = acquireLock;
+    }
+
+    private final ThreadFactory delegate;
+
+    public AffinityThreadFactory(@NotNull ThreadFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Thread newThread(@NotNull Runnable r) {
+        if (ACQUIRE_LOCK == null) {
+            return this.delegate.newThread(r);
+        }
+
+        return this.delegate.newThread(() -> {
+            Closeable lock = acquireLock();
+            try {
+                r.run();
+            } finally {
+                releaseLock(lock);
+            }
+        });
+    }
+
+    private static Closeable acquireLock() {
+        try {
+            return (Closeable) ACQUIRE_LOCK.invoke(null);
+        } catch (ReflectiveOperationException | ClassCastException exception) {
+            LOGGER.debug("Unable to pin thread {} to a cpu core", Thread.currentThread().getName(), exception);
+            return null;
+        }
+    }
+
+    private static void releaseLock(Closeable lock) {
+        if (lock != null) {
+            try {
+                lock.close();
+            } catch (IOException exception) {
+                LOGGER.debug("Unable to release cpu core of thread {}", Thread.currentThread().getName(), exception);
+            }
+        }
+    }
+}
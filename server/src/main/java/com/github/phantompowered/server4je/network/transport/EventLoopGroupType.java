@@ -26,16 +26,26 @@ package com.github.phantompowered.server4je.network.transport;
 
 public enum EventLoopGroupType {
 
-    BOSS("Boss"),
-    WORKER("Worker");
+    BOSS("Boss", EventLoopGroupType.BOSS_THREADS_PROPERTY, 1),
+    WORKER("Worker", EventLoopGroupType.WORKER_THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
+
+    // constants, reading them does not initialize this enum and therefore not the thread counts
+    public static final String BOSS_THREADS_PROPERTY = "server4je.bossThreads";
+    public static final String WORKER_THREADS_PROPERTY = "server4je.workerThreads";
 
     private final String name;
+    private final int threadCount;
 
-    EventLoopGroupType(String name) {
+    EventLoopGroupType(String name, String threadCountProperty, int defaultThreadCount) {
         this.name = name;
+        this.threadCount = Math.max(1, Integer.getInteger(threadCountProperty, defaultThreadCount));
     }
 
     public String getName() {
         return this.name;
     }
+
+    public int getThreadCount() {
+        return this.threadCount;
+    }
 }
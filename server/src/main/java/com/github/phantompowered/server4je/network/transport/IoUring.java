@@ -0,0 +1,103 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.transport;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Optional support for the io_uring transport. The transport is still an incubator module of netty and is
+ * only used if it is on the classpath, compatible with the netty version in use and supported by the kernel.
+ */
+final class IoUring {
+
+    private static final String PACKAGE = "io.netty.incubator.channel.uring.";
+
+    private static final Constructor<? extends ServerSocketChannel> SERVER_SOCKET_CHANNEL;
+    private static final Constructor<? extends SocketChannel> SOCKET_CHANNEL;
+    private static final Constructor<? extends EventLoopGroup> EVENT_LOOP_GROUP;
+
+    static {
+        Constructor<? extends ServerSocketChannel> serverSocketChannel = null;
+        Constructor<? extends SocketChannel> socketChannel = null;
+        Constructor<? extends EventLoopGroup> eventLoopGroup = null;
+
+        try {
+            Class<?> ioUring = Class.forName(PACKAGE + "IOUring");
+            if ((boolean) ioUring.getMethod("isAvailable").invoke(null)) {
+                serverSocketChannel = Class.forName(PACKAGE + "IOUringServerSocketChannel").asSubclass(ServerSocketChannel.class).getConstructor();
+                socketChannel = Class.forName(PACKAGE + "IOUringSocketChannel").asSubclass(SocketChannel.class).getConstructor();
+                eventLoopGroup = Class.forName(PACKAGE + "IOUringEventLoopGroup").asSubclass(EventLoopGroup.class)
+                    .getConstructor(int.class, ThreadFactory.class);
+            }
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException ignored) {
+            // not on the classpath or not compatible with the netty version in use
+            serverSocketChannel = null;
+            socketChannel = null;
+            eventLoopGroup = null;
+        }
+
+        SERVER_SOCKET_CHANNEL = serverSocketChannel;
+        SOCKET_CHANNEL = socketChannel;
+        EVENT_LOOP_GROUP = eventLoopGroup;
+    }
+
+    private IoUring() {
+        throw new UnsupportedOperationException();
+    }
+
+    static boolean isAvailable() {
+        return EVENT_LOOP_GROUP != null;
+    }
+
+    static @NotNull ServerSocketChannel newServerSocketChannel() {
+        return newInstance(SERVER_SOCKET_CHANNEL);
+    }
+
+    static @NotNull SocketChannel newSocketChannel() {
+        return newInstance(SOCKET_CHANNEL);
+    }
+
+    static @NotNull EventLoopGroup newEventLoopGroup(int threads, @NotNull ThreadFactory threadFactory) {
+        return newInstance(EVENT_LOOP_GROUP, threads, threadFactory);
+    }
+
+    private static <T> T newInstance(Constructor<T> constructor, Object... arguments) {
+        if (constructor == null) {
+            throw new IllegalStateException("The io_uring transport is not available");
+        }
+
+        try {
+            return constructor.newInstance(arguments);
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException("Unable to create io_uring transport component", exception);
+        }
+    }
+}
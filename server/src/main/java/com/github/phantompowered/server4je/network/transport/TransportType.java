@@ -24,15 +24,19 @@
  */
 package com.github.phantompowered.server4je.network.transport;
 
+import com.github.phantompowered.server4je.network.thread.AffinityThreadFactory;
 import com.github.phantompowered.server4je.network.thread.FastNettyThreadFactory;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
 import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.kqueue.KQueue;
 import io.netty.channel.kqueue.KQueueEventLoopGroup;
+import io.netty.channel.kqueue.KQueueServerDomainSocketChannel;
 import io.netty.channel.kqueue.KQueueServerSocketChannel;
 import io.netty.channel.kqueue.KQueueSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
@@ -41,33 +45,48 @@ import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.ThreadFactory;
 import java.util.function.BiFunction;
 
 public enum TransportType {
 
-    EPOLL("Epoll", Epoll.isAvailable(), EpollServerSocketChannel::new, EpollSocketChannel::new,
-        (type, name) -> new EpollEventLoopGroup(Math.min(4, Runtime.getRuntime().availableProcessors() * 2), newThreadFactory(name, type))),
-    K_QUEUE("KQueue", KQueue.isAvailable(), KQueueServerSocketChannel::new, KQueueSocketChannel::new,
-        (type, name) -> new KQueueEventLoopGroup(Math.min(4, Runtime.getRuntime().availableProcessors() * 2), newThreadFactory(name, type))),
-    NIO("Nio", true, NioServerSocketChannel::new, NioSocketChannel::new,
-        (type, name) -> new NioEventLoopGroup(Math.min(4, Runtime.getRuntime().availableProcessors() * 2), newThreadFactory(name, type)));
+    EPOLL("Epoll", Epoll.isAvailable(), true, EpollServerSocketChannel::new, EpollSocketChannel::new, EpollServerDomainSocketChannel::new,
+        (type, name) -> new EpollEventLoopGroup(type.getThreadCount(), newThreadFactory(name, type))),
+    K_QUEUE("KQueue", KQueue.isAvailable(), false, KQueueServerSocketChannel::new, KQueueSocketChannel::new, KQueueServerDomainSocketChannel::new,
+        (type, name) -> new KQueueEventLoopGroup(type.getThreadCount(), newThreadFactory(name, type))),
+    // never chosen automatically while the transport is incubating, needs to be selected explicitly
+    IO_URING("IOUring", IoUring.isAvailable(), false, IoUring::newServerSocketChannel, IoUring::newSocketChannel, null,
+        (type, name) -> IoUring.newEventLoopGroup(type.getThreadCount(), newThreadFactory(name, type))),
+    NIO("Nio", true, false, NioServerSocketChannel::new, NioSocketChannel::new, null,
+        (type, name) -> new NioEventLoopGroup(type.getThreadCount(), newThreadFactory(name, type)));
 
     public static final TransportType[] VALUES = TransportType.values(); // prevent copy
+    public static final String TRANSPORT_PROPERTY = "server4je.transport";
+    public static final String THREAD_AFFINITY_PROPERTY = "server4je.threadAffinity";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransportType.class);
 
     private final String name;
     private final boolean available;
+    private final boolean reusePortSupported;
     private final ChannelFactory<? extends ServerSocketChannel> serverSocketChannelFactory;
     private final ChannelFactory<? extends SocketChannel> socketChannelFactory;
+    private final ChannelFactory<? extends ServerChannel> serverDomainSocketChannelFactory;
     private final BiFunction<EventLoopGroupType, String, EventLoopGroup> eventLoopGroupFactory;
 
-    TransportType(String name, boolean available, ChannelFactory<? extends ServerSocketChannel> serverSocketChannelFactory,
-                  ChannelFactory<? extends SocketChannel> socketChannelFactory, BiFunction<EventLoopGroupType, String, EventLoopGroup> eventLoopGroupFactory) {
+    TransportType(String name, boolean available, boolean reusePortSupported, ChannelFactory<? extends ServerSocketChannel> serverSocketChannelFactory,
+                  ChannelFactory<? extends SocketChannel> socketChannelFactory, ChannelFactory<? extends ServerChannel> serverDomainSocketChannelFactory,
+                  BiFunction<EventLoopGroupType, String, EventLoopGroup> eventLoopGroupFactory) {
         this.name = name;
         this.available = available;
+        this.reusePortSupported = reusePortSupported;
         this.serverSocketChannelFactory = serverSocketChannelFactory;
         this.socketChannelFactory = socketChannelFactory;
+        this.serverDomainSocketChannelFactory = serverDomainSocketChannelFactory;
         this.eventLoopGroupFactory = eventLoopGroupFactory;
     }
 
@@ -79,6 +98,16 @@ public enum TransportType {
         return this.available;
     }
 
+    /**
+     * Get if multiple server channels can be bound to the same address using {@code SO_REUSEPORT}, letting the
+     * kernel balance the accepted connections between them.
+     *
+     * @return if {@code SO_REUSEPORT} is supported by this transport
+     */
+    public boolean isReusePortSupported() {
+        return this.reusePortSupported;
+    }
+
     public @NotNull ChannelFactory<? extends ServerSocketChannel> getServerSocketChannelFactory() {
         return this.serverSocketChannelFactory;
     }
@@ -87,6 +116,14 @@ public enum TransportType {
         return this.socketChannelFactory;
     }
 
+    public boolean isDomainSocketSupported() {
+        return this.serverDomainSocketChannelFactory != null;
+    }
+
+    public @Nullable ChannelFactory<? extends ServerChannel> getServerDomainSocketChannelFactory() {
+        return this.serverDomainSocketChannelFactory;
+    }
+
     public @NotNull EventLoopGroup getEventLoopGroup(@NotNull EventLoopGroupType type) {
         return this.eventLoopGroupFactory.apply(type, this.getName());
     }
@@ -96,8 +133,20 @@ public enum TransportType {
             return NIO;
         }
 
+        String requested = System.getProperty(TRANSPORT_PROPERTY);
+        if (requested != null && !requested.equalsIgnoreCase("auto")) {
+            TransportType type = findByName(requested);
+            if (type == null) {
+                LOGGER.warn("Unknown transport {}, falling back to the best available one", requested);
+            } else if (type.isAvailable()) {
+                return type;
+            } else {
+                LOGGER.warn("Transport {} is not available on this system, falling back to the best available one", type.getName());
+            }
+        }
+
         for (TransportType value : VALUES) {
-            if (value.isAvailable()) {
+            if (value != IO_URING && value.isAvailable()) {
                 return value;
             }
         }
@@ -105,8 +154,21 @@ public enum TransportType {
         return NIO;
     }
 
+    private static TransportType findByName(@NotNull String name) {
+        for (TransportType value : VALUES) {
+            if (value.name().equalsIgnoreCase(name) || value.getName().equalsIgnoreCase(name)) {
+                return value;
+            }
+        }
+
+        return null;
+    }
+
     @NotNull
     public static ThreadFactory newThreadFactory(@NotNull String name, @NotNull EventLoopGroupType type) {
-        return new FastNettyThreadFactory("Netty " + type.getName() + ' ' + name + " Thread#%d");
+        ThreadFactory threadFactory = new FastNettyThreadFactory("Netty " + type.getName() + ' ' + name + " Thread#%d");
+        return type == EventLoopGroupType.WORKER && Boolean.getBoolean(THREAD_AFFINITY_PROPERTY)
+            ? new AffinityThreadFactory(threadFactory)
+            : threadFactory;
     }
 }
@@ -75,6 +75,39 @@ public class ServerCliOptionUtil {
             .defaultsTo(new File("configuration.json"))
             .describedAs("Server configuration file");
 
+        // Buffer allocator
+        optionParser.acceptsAll(asList("allocator", "buffer-allocator"), "Sets the buffer allocator profile to use (pooled or unpooled)")
+            .withRequiredArg()
+            .ofType(String.class)
+            .defaultsTo("unpooled")
+            .describedAs("Buffer allocator profile");
+
+        // Network transport
+        optionParser.acceptsAll(asList("transport", "network-transport"), "Sets the network transport to use (auto, epoll, kqueue, io_uring or nio)")
+            .withRequiredArg()
+            .ofType(String.class)
+            .defaultsTo("auto")
+            .describedAs("Network transport");
+
+        // Event loop threads
+        optionParser.acceptsAll(asList("boss-threads", "acceptor-threads"), "Sets the amount of threads accepting connections, using more than one requires epoll")
+            .withRequiredArg()
+            .ofType(Integer.class)
+            .defaultsTo(1)
+            .describedAs("Boss thread count");
+        optionParser.acceptsAll(asList("worker-threads", "io-threads"), "Sets the amount of threads handling the connections")
+            .withRequiredArg()
+            .ofType(Integer.class)
+            .defaultsTo(Runtime.getRuntime().availableProcessors())
+            .describedAs("Worker thread count");
+
+        // Thread affinity
+        optionParser.acceptsAll(asList("thread-affinity", "pin-threads"), "Pins every worker thread to its own cpu core (requires OpenHFT affinity)")
+            .withRequiredArg()
+            .ofType(Boolean.class)
+            .defaultsTo(false)
+            .describedAs("Worker thread affinity");
+
         optionParser.acceptsAll(asList("help", "?"), "Shows the help").withOptionalArg();
         optionParser.acceptsAll(asList("version", "v"), "Shows the current version").withOptionalArg();
 
@@ -0,0 +1,251 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.profile;
+
+import com.destroystokyo.paper.profile.ProfileProperty;
+import com.github.phantompowered.server4je.authlib.cache.ProfileStore;
+import com.github.phantompowered.server4je.authlib.profile.GameProfile;
+import net.openhft.chronicle.map.ChronicleMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * A profile store persisted to memory mapped chronicle maps, so looked up profiles survive restarts without
+ * being held on the heap. Every value is prefixed with the time it was written and dropped once it is older
+ * than the configured time to live.
+ */
+public class ChronicleProfileStore implements ProfileStore, Closeable {
+
+    public static final long DEFAULT_ENTRIES = 50_000;
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofDays(3);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChronicleProfileStore.class);
+    private static final String TEXTURES = "textures";
+    private static final char TIME_SEPARATOR = '|';
+    private static final char PROPERTY_SEPARATOR = '\n';
+    private static final char SIGNATURE_SEPARATOR = '\t';
+
+    private final ChronicleMap<String, String> uniqueIdToName;
+    private final ChronicleMap<String, String> nameToUniqueId;
+    private final ChronicleMap<String, String> uniqueIdToTextures;
+    private final long timeToLiveMillis;
+
+    public ChronicleProfileStore(@NotNull Path directory) throws IOException {
+        this(directory, DEFAULT_ENTRIES, DEFAULT_TIME_TO_LIVE);
+    }
+
+    public ChronicleProfileStore(@NotNull Path directory, long entries, @NotNull Duration timeToLive) throws IOException {
+        Files.createDirectories(directory);
+        this.timeToLiveMillis = timeToLive.toMillis();
+
+        ChronicleMap<String, String> uniqueIdToName = null;
+        ChronicleMap<String, String> nameToUniqueId = null;
+        try {
+            uniqueIdToName = createMap(directory.resolve("names.dat"), "profile-names", entries, 36, 24);
+            nameToUniqueId = createMap(directory.resolve("unique-ids.dat"), "profile-unique-ids", entries, 16, 50);
+            this.uniqueIdToTextures = createMap(directory.resolve("textures.dat"), "profile-textures", entries, 36, 1500);
+        } catch (IOException | RuntimeException exception) {
+            closeQuietly(uniqueIdToName);
+            closeQuietly(nameToUniqueId);
+            throw exception;
+        }
+
+        this.uniqueIdToName = uniqueIdToName;
+        this.nameToUniqueId = nameToUniqueId;
+        this.purgeStale();
+    }
+
+    @Override
+    public @Nullable UUID getUniqueId(@NotNull String name) {
+        String uniqueId = this.read(this.nameToUniqueId, name.toLowerCase(Locale.ROOT));
+        return uniqueId == null ? null : UUID.fromString(uniqueId);
+    }
+
+    @Override
+    public @Nullable String getName(@NotNull UUID uniqueId) {
+        return this.read(this.uniqueIdToName, uniqueId.toString());
+    }
+
+    @Override
+    public @Nullable Collection<ProfileProperty> getTextures(@NotNull UUID uniqueId) {
+        String textures = this.read(this.uniqueIdToTextures, uniqueId.toString());
+        if (textures == null) {
+            return null;
+        }
+
+        Collection<ProfileProperty> properties = new ArrayList<>(1);
+        int start = 0;
+        while (start < textures.length()) {
+            int end = textures.indexOf(PROPERTY_SEPARATOR, start);
+            if (end == -1) {
+                end = textures.length();
+            }
+
+            int signatureStart = textures.indexOf(SIGNATURE_SEPARATOR, start);
+            if (signatureStart == -1 || signatureStart > end) {
+                properties.add(new ProfileProperty(TEXTURES, textures.substring(start, end)));
+            } else {
+                properties.add(new ProfileProperty(TEXTURES, textures.substring(start, signatureStart), textures.substring(signatureStart + 1, end)));
+            }
+
+            start = end + 1;
+        }
+
+        return properties;
+    }
+
+    @Override
+    public void storeUniqueId(@NotNull String name, @NotNull UUID uniqueId) {
+        this.write(this.nameToUniqueId, name.toLowerCase(Locale.ROOT), uniqueId.toString());
+    }
+
+    @Override
+    public void storeProfile(@NotNull GameProfile gameProfile) {
+        if (!gameProfile.isComplete()) {
+            return;
+        }
+
+        String uniqueId = gameProfile.getId().toString();
+        this.write(this.uniqueIdToName, uniqueId, gameProfile.getName());
+        this.write(this.nameToUniqueId, gameProfile.getName().toLowerCase(Locale.ROOT), uniqueId);
+
+        StringBuilder textures = new StringBuilder();
+        for (ProfileProperty property : gameProfile.getProperties()) {
+            if (!property.getName().equals(TEXTURES)) {
+                continue;
+            }
+
+            if (textures.length() > 0) {
+                textures.append(PROPERTY_SEPARATOR);
+            }
+
+            textures.append(property.getValue());
+            if (property.isSigned()) {
+                textures.append(SIGNATURE_SEPARATOR).append(property.getSignature());
+            }
+        }
+
+        this.write(this.uniqueIdToTextures, uniqueId, textures.toString());
+    }
+
+    /**
+     * Removes all entries which are older than the time to live. Stale entries are dropped when they are read as
+     * well, this only frees the space of entries which are never read again.
+     */
+    public void purgeStale() {
+        long now = System.currentTimeMillis();
+        for (ChronicleMap<String, String> map : this.maps()) {
+            map.entrySet().removeIf(entry -> this.isStale(entry.getValue(), now));
+        }
+    }
+
+    @Override
+    public void close() {
+        for (ChronicleMap<String, String> map : this.maps()) {
+            closeQuietly(map);
+        }
+    }
+
+    private @Nullable String read(@NotNull ChronicleMap<String, String> map, @NotNull String key) {
+        try {
+            String entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+
+            if (this.isStale(entry, System.currentTimeMillis())) {
+                map.remove(key, entry);
+                return null;
+            }
+
+            return entry.substring(entry.indexOf(TIME_SEPARATOR) + 1);
+        } catch (RuntimeException exception) {
+            LOGGER.debug("Unable to read {} from profile store {}", key, map.name(), exception);
+            return null;
+        }
+    }
+
+    private void write(@NotNull ChronicleMap<String, String> map, @NotNull String key, @NotNull String value) {
+        try {
+            map.put(key, System.currentTimeMillis() + String.valueOf(TIME_SEPARATOR) + value);
+        } catch (RuntimeException exception) {
+            LOGGER.debug("Unable to write {} to profile store {}", key, map.name(), exception);
+        }
+    }
+
+    private boolean isStale(@NotNull String entry, long now) {
+        int separator = entry.indexOf(TIME_SEPARATOR);
+        if (separator <= 0) {
+            return true;
+        }
+
+        try {
+            return now - Long.parseLong(entry, 0, separator, 10) > this.timeToLiveMillis;
+        } catch (NumberFormatException exception) {
+            return true;
+        }
+    }
+
+    private @NotNull Collection<ChronicleMap<String, String>> maps() {
+        Collection<ChronicleMap<String, String>> maps = new ArrayList<>(3);
+        maps.add(this.uniqueIdToName);
+        maps.add(this.nameToUniqueId);
+        maps.add(this.uniqueIdToTextures);
+        return maps;
+    }
+
+    private static @NotNull ChronicleMap<String, String> createMap(@NotNull Path file, @NotNull String name, long entries,
+                                                                 int averageKeySize, int averageValueSize) throws IOException {
+        return ChronicleMap.of(String.class, String.class)
+            .name(name)
+            .entries(entries)
+            .averageKeySize(averageKeySize)
+            // the write time prefix is part of every value
+            .averageValueSize(averageValueSize + 14)
+            .createOrRecoverPersistedTo(file.toFile());
+    }
+
+    private static void closeQuietly(@Nullable ChronicleMap<String, String> map) {
+        if (map != null) {
+            try {
+                map.close();
+            } catch (RuntimeException exception) {
+                LOGGER.debug("Unable to close profile store {}", map.name(), exception);
+            }
+        }
+    }
+}
@@ -27,6 +27,7 @@ package com.github.phantompowered.server4je.tick;
 import com.destroystokyo.paper.event.server.ServerTickEndEvent;
 import com.destroystokyo.paper.event.server.ServerTickStartEvent;
 import com.github.phantompowered.server4je.api.PhantomServer;
+import com.github.phantompowered.server4je.network.handler.flush.TickFlushScheduler;
 import com.github.phantompowered.server4je.scheduler.ServerScheduler;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
@@ -100,6 +101,9 @@ public final class ServerTicker {
                 ));
             } catch (Throwable throwable) {
                 LOGGER.error("Error executing server tick", throwable);
+            } finally {
+                // packets written before a failure in the tick still have to be sent
+                TickFlushScheduler.flushAll();
             }
         }
     }
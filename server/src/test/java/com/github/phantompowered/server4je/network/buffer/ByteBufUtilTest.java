@@ -0,0 +1,159 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.buffer;
+
+import com.github.phantompowered.server4je.protocol.utils.VarIntUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ByteBufUtilTest {
+
+    private static final int[] INT_VALUES = {
+        0, 1, 127, 128, 255, 16383, 16384, 2097151, 2097152, 268435455, 268435456, Integer.MAX_VALUE, -1, Integer.MIN_VALUE
+    };
+    private static final long[] LONG_VALUES = {
+        0, 1, 127, 128, 268435455, 268435456, Integer.MAX_VALUE, 1L << 32, (1L << 35) - 1, 1L << 35, 1L << 56,
+        Long.MAX_VALUE, -1, Long.MIN_VALUE
+    };
+
+    @Test
+    void writesVarIntsLikeTheLoopBasedEncoder() {
+        SplittableRandom random = new SplittableRandom(0x5EED);
+        for (int value : INT_VALUES) {
+            this.assertVarInt(value);
+        }
+
+        for (int i = 0; i < 100_000; i++) {
+            // spread the values over all encoded sizes
+            this.assertVarInt(random.nextInt() >>> random.nextInt(32));
+        }
+    }
+
+    @Test
+    void writesVarLongsLikeTheLoopBasedEncoder() {
+        SplittableRandom random = new SplittableRandom(0x5EED);
+        for (long value : LONG_VALUES) {
+            this.assertVarLong(value);
+        }
+
+        for (int i = 0; i < 100_000; i++) {
+            this.assertVarLong(random.nextLong() >>> random.nextInt(64));
+        }
+    }
+
+    @Test
+    void rejectsTooLongVarInts() {
+        ByteBuf byteBuf = Unpooled.buffer().writeBytes(new byte[]{(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01});
+        assertThrows(IllegalArgumentException.class, () -> ByteBufUtil.readUnsignedVarInt(byteBuf));
+        assertEquals(0, byteBuf.readerIndex());
+    }
+
+    @Test
+    void rejectsIncompleteVarInts() {
+        ByteBuf byteBuf = Unpooled.buffer().writeBytes(new byte[]{(byte) 0xFF, (byte) 0xFF});
+        assertThrows(IllegalArgumentException.class, () -> ByteBufUtil.readUnsignedVarInt(byteBuf));
+        assertThrows(IllegalArgumentException.class, () -> ByteBufUtil.readUnsignedVarLong(byteBuf));
+        assertEquals(0, byteBuf.readerIndex());
+    }
+
+    @Test
+    void readsPaddedVarInts() {
+        for (int value : INT_VALUES) {
+            for (int size = VarIntUtil.varIntSize(value); size <= VarIntUtil.MAX_VAR_INT_SIZE; size++) {
+                ByteBuf byteBuf = Unpooled.buffer().writeZero(size + 1);
+                ByteBufUtil.setPaddedUnsignedVarInt(byteBuf, 1, value, size);
+
+                byteBuf.readerIndex(1);
+                assertEquals(value, ByteBufUtil.readUnsignedVarInt(byteBuf));
+                assertEquals(size + 1, byteBuf.readerIndex());
+            }
+        }
+    }
+
+    @Test
+    void prependsVarInts() {
+        for (int value : INT_VALUES) {
+            ByteBuf byteBuf = Unpooled.buffer();
+            byteBuf.writerIndex(VarIntUtil.MAX_VAR_INT_SIZE).readerIndex(VarIntUtil.MAX_VAR_INT_SIZE);
+            byteBuf.writeLong(Long.MAX_VALUE);
+
+            ByteBufUtil.prependUnsignedVarInt(byteBuf, value);
+            assertEquals(VarIntUtil.MAX_VAR_INT_SIZE - VarIntUtil.varIntSize(value), byteBuf.readerIndex());
+            assertEquals(value, ByteBufUtil.readUnsignedVarInt(byteBuf));
+            assertEquals(Long.MAX_VALUE, byteBuf.readLong());
+        }
+    }
+
+    private void assertVarInt(int value) {
+        ByteBuf expected = Unpooled.buffer();
+        writeVarIntLoop(expected, value);
+
+        // a buffer without space left, so the encoder needs to grow it
+        ByteBuf actual = Unpooled.buffer(0);
+        ByteBufUtil.writeUnsignedVarInt(actual, value);
+
+        assertEquals(expected, actual);
+        assertEquals(VarIntUtil.varIntSize(value), actual.readableBytes());
+        assertEquals(value, ByteBufUtil.readUnsignedVarInt(actual));
+        assertEquals(0, actual.readableBytes());
+    }
+
+    private void assertVarLong(long value) {
+        ByteBuf expected = Unpooled.buffer();
+        writeVarLongLoop(expected, value);
+
+        ByteBuf actual = Unpooled.buffer(0);
+        ByteBufUtil.writeUnsignedVarLong(actual, value);
+
+        assertEquals(expected, actual);
+        assertEquals(VarIntUtil.varLongSize(value), actual.readableBytes());
+        assertEquals(value, ByteBufUtil.readUnsignedVarLong(actual));
+        assertEquals(0, actual.readableBytes());
+    }
+
+    private static void writeVarIntLoop(ByteBuf byteBuf, int value) {
+        while ((value & -128) != 0) {
+            byteBuf.writeByte(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+
+        byteBuf.writeByte(value);
+    }
+
+    private static void writeVarLongLoop(ByteBuf byteBuf, long value) {
+        while ((value & -128L) != 0) {
+            byteBuf.writeByte((int) value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+
+        byteBuf.writeByte((int) value);
+    }
+}
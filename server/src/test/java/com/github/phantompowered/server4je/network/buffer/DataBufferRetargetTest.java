@@ -0,0 +1,85 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.buffer;
+
+import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class DataBufferRetargetTest {
+
+    private final DefaultDataBufferFactory dataBufferFactory = new DefaultDataBufferFactory();
+
+    @Test
+    void writesToTheCurrentDataHolder() {
+        ByteBuf first = Unpooled.buffer();
+        ByteBuf second = Unpooled.buffer();
+
+        DataBuffer dataBuffer = this.dataBufferFactory.createDataBuffer(first);
+        dataBuffer.writeVarInt(300);
+        assertSame(dataBuffer, dataBuffer.setDataHolder(second));
+        dataBuffer.writeString("second");
+
+        assertEquals(2, first.writerIndex());
+        assertEquals(7, second.writerIndex());
+        assertEquals(300, this.dataBufferFactory.createDataBuffer(first).readVarInt());
+        assertEquals("second", this.dataBufferFactory.createDataBuffer(second).readString());
+    }
+
+    @Test
+    void readsFromTheCurrentDataHolder() {
+        DataBuffer dataBuffer = this.dataBufferFactory.createEmptyBuffer();
+        for (int i = 0; i < 3; i++) {
+            ByteBuf packet = Unpooled.buffer();
+            ByteBufUtil.writeUnsignedVarInt(packet, i);
+            packet.writeLong(i * 1000L);
+
+            dataBuffer.setDataHolder(packet);
+            assertEquals(9, dataBuffer.readableBytes());
+            assertEquals(i, dataBuffer.readVarInt());
+            assertEquals(i * 1000L, dataBuffer.readLong());
+            assertEquals(0, packet.readableBytes());
+        }
+    }
+
+    @Test
+    void releasesTheCurrentDataHolder() {
+        ByteBuf first = Unpooled.buffer();
+        ByteBuf second = Unpooled.buffer();
+
+        DataBuffer dataBuffer = this.dataBufferFactory.createDataBuffer(first).setDataHolder(second);
+        dataBuffer.release();
+
+        assertEquals(1, first.refCnt());
+        assertEquals(0, second.refCnt());
+
+        dataBuffer.setDataHolder(Unpooled.EMPTY_BUFFER);
+        assertEquals(0, dataBuffer.readableBytes());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.buffer;
+
+import com.github.phantompowered.server4je.protocol.buffer.DataBuffer;
+import com.google.common.base.Strings;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DefaultDataBufferStringTest {
+
+    private static final String[] STRINGS = {
+        "",
+        "Notch",
+        Strings.repeat("a", 127),
+        Strings.repeat("a", 128),
+        "Grüße aus Köln",
+        "Привет, мир",
+        "你好，世界",
+        "😀 🎉 emoji",
+        Strings.repeat("é世😀", 1000)
+    };
+
+    private final DefaultDataBufferFactory dataBufferFactory = new DefaultDataBufferFactory();
+
+    @Test
+    void readsWhatItWrites() {
+        DataBuffer dataBuffer = this.dataBufferFactory.createEmptyBuffer();
+        for (String string : STRINGS) {
+            dataBuffer.writeString(string);
+        }
+
+        for (String string : STRINGS) {
+            assertEquals(string, dataBuffer.readString());
+        }
+
+        assertEquals(0, dataBuffer.readableBytes());
+    }
+
+    @Test
+    void writesTheUtf8Bytes() {
+        for (String string : STRINGS) {
+            DataBuffer dataBuffer = this.dataBufferFactory.createEmptyBuffer();
+            dataBuffer.writeString(string);
+
+            byte[] expected = string.getBytes(StandardCharsets.UTF_8);
+            assertEquals(expected.length, dataBuffer.readVarInt());
+
+            byte[] written = new byte[dataBuffer.readableBytes()];
+            dataBuffer.readBytes(written);
+            assertArrayEquals(expected, written);
+        }
+    }
+
+    @Test
+    void padsTheLengthToTheReservedSize() {
+        // 50 chars may need up to 150 bytes, which needs a 2 byte VarInt although 50 fits into one byte
+        DataBuffer dataBuffer = this.dataBufferFactory.createEmptyBuffer();
+        dataBuffer.writeString(Strings.repeat("a", 50));
+
+        assertEquals(52, dataBuffer.readableBytes());
+        assertEquals((byte) (50 | 0x80), dataBuffer.getByte(0));
+        assertEquals(0, dataBuffer.getByte(1));
+    }
+
+    @Test
+    void readsUnpaddedLengths() {
+        ByteBuf byteBuf = Unpooled.buffer();
+        byte[] bytes = "Grüße".getBytes(StandardCharsets.UTF_8);
+        ByteBufUtil.writeUnsignedVarInt(byteBuf, bytes.length);
+        byteBuf.writeBytes(bytes);
+
+        assertEquals("Grüße", this.dataBufferFactory.createDataBuffer(byteBuf).readString());
+    }
+
+    @Test
+    void keepsTheMaxLengthChecks() {
+        DataBuffer dataBuffer = this.dataBufferFactory.createEmptyBuffer();
+        assertThrows(IllegalArgumentException.class, () -> dataBuffer.writeString("too long", 7));
+        assertEquals(0, dataBuffer.writerIndex());
+
+        dataBuffer.writeString("too long");
+        assertThrows(IllegalArgumentException.class, () -> dataBuffer.readString(7));
+    }
+
+    @Test
+    void truncatesSilently() {
+        DataBuffer dataBuffer = this.dataBufferFactory.createEmptyBuffer();
+        dataBuffer.writeString("Grüße aus Köln");
+        dataBuffer.writeString("next");
+
+        assertEquals("Grüße", dataBuffer.readStringSilently(5));
+        assertEquals("next", dataBuffer.readString());
+    }
+
+    @Test
+    void rejectsLengthsExceedingTheReadableBytes() {
+        ByteBuf byteBuf = Unpooled.buffer();
+        ByteBufUtil.writeUnsignedVarInt(byteBuf, 10);
+        byteBuf.writeBytes("short".getBytes(StandardCharsets.UTF_8));
+
+        DataBuffer dataBuffer = this.dataBufferFactory.createDataBuffer(byteBuf);
+        assertThrows(IndexOutOfBoundsException.class, dataBuffer::readString);
+        assertEquals(1, dataBuffer.readerIndex());
+    }
+}
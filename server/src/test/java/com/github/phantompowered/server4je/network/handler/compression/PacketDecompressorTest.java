@@ -0,0 +1,160 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.handler.compression;
+
+import com.github.phantompowered.server4je.network.NetworkConstants;
+import com.github.phantompowered.server4je.network.buffer.ByteBufUtil;
+import com.github.phantompowered.server4je.network.buffer.DefaultDataBufferFactory;
+import com.github.phantompowered.server4je.network.handler.packet.PacketDecoder;
+import com.github.phantompowered.server4je.protocol.play.in.PacketInBookEdit;
+import com.github.phantompowered.server4je.protocol.play.in.PacketInKeepAlive;
+import com.github.phantompowered.server4je.protocol.state.ProtocolState;
+import com.velocitypowered.natives.compression.VelocityCompressor;
+import com.velocitypowered.natives.util.BufferPreference;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PacketDecompressorTest {
+
+    private final CountingCompressor compressor = new CountingCompressor();
+    private final EmbeddedChannel channel = new EmbeddedChannel();
+
+    PacketDecompressorTest() {
+        PacketDecoder decoder = new PacketDecoder(new DefaultDataBufferFactory());
+        decoder.setProtocolState(ProtocolState.PLAY);
+
+        this.channel.pipeline()
+            .addLast(NetworkConstants.PACKET_DECOMPRESSOR, new PacketDecompressor(8, this.compressor))
+            .addLast(NetworkConstants.PACKET_DECODER, decoder);
+    }
+
+    @AfterEach
+    void closeChannel() {
+        this.channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void decodesCompressedPackets() {
+        byte[] packet = new byte[9];
+        packet[0] = (byte) new PacketInKeepAlive().getId();
+        packet[8] = 42;
+
+        this.channel.writeInbound(compress(packet));
+
+        assertEquals(1, this.compressor.inflated);
+        assertTrue(this.channel.readInbound() instanceof PacketInKeepAlive);
+        assertTrue(this.channel.isOpen());
+    }
+
+    @Test
+    void rejectsOversizedBookEditsBeforeInflating() {
+        byte[] packet = new byte[200_000];
+        packet[0] = (byte) new PacketInBookEdit().getId();
+
+        this.channel.writeInbound(compress(packet));
+
+        assertEquals(0, this.compressor.inflated);
+        assertNull(this.channel.readInbound());
+        assertFalse(this.channel.isOpen());
+    }
+
+    @Test
+    void rejectsBookEditsExceedingTheCompressedSize() {
+        byte[] packet = new byte[40_000];
+        new Random(0).nextBytes(packet);
+        packet[0] = (byte) new PacketInBookEdit().getId();
+
+        // random data does not compress, the received frame exceeds the compressed limit while the packet is small enough
+        ByteBuf frame = compress(packet);
+        assertTrue(frame.readableBytes() > 32_768);
+        this.channel.writeInbound(frame);
+
+        assertEquals(1, this.compressor.inflated);
+        assertNull(this.channel.readInbound());
+        assertFalse(this.channel.isOpen());
+    }
+
+    private static ByteBuf compress(byte[] packet) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(packet);
+        deflater.finish();
+
+        byte[] buffer = new byte[packet.length + 1024];
+        int length = deflater.deflate(buffer);
+        deflater.end();
+
+        ByteBuf frame = Unpooled.buffer();
+        ByteBufUtil.writeUnsignedVarInt(frame, packet.length);
+        return frame.writeBytes(buffer, 0, length);
+    }
+
+    private static final class CountingCompressor implements VelocityCompressor {
+
+        private final Inflater inflater = new Inflater();
+        private int inflated;
+
+        @Override
+        public void inflate(ByteBuf source, ByteBuf destination, int uncompressedSize) throws DataFormatException {
+            this.inflated++;
+
+            byte[] input = new byte[source.readableBytes()];
+            source.readBytes(input);
+            byte[] output = new byte[uncompressedSize];
+
+            this.inflater.setInput(input);
+            int length = this.inflater.inflate(output);
+            this.inflater.reset();
+            destination.writeBytes(output, 0, length);
+        }
+
+        @Override
+        public void deflate(ByteBuf source, ByteBuf destination) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BufferPreference preferredBufferType() {
+            return BufferPreference.HEAP_REQUIRED;
+        }
+
+        @Override
+        public void close() {
+            this.inflater.end();
+        }
+    }
+}
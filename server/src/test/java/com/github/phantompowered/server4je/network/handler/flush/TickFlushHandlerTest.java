@@ -0,0 +1,92 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.handler.flush;
+
+import com.github.phantompowered.server4je.network.packet.EncodedPacket;
+import com.github.phantompowered.server4je.protocol.login.out.PacketOutEnableCompression;
+import com.github.phantompowered.server4je.protocol.play.out.PacketOutKeepAlive;
+import com.github.phantompowered.server4je.protocol.play.out.PacketOutViewDistance;
+import com.github.phantompowered.server4je.protocol.status.out.PacketOutPong;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TickFlushHandlerTest {
+
+    private int flushes;
+    private final EmbeddedChannel channel = new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            ReferenceCountUtil.release(msg);
+            promise.trySuccess();
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) {
+            TickFlushHandlerTest.this.flushes++;
+        }
+    }, new TickFlushHandler());
+
+    @AfterEach
+    void closeChannel() {
+        this.channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void holdsFlushesUntilTheTickEnds() {
+        this.channel.writeAndFlush(new PacketOutViewDistance(8));
+        this.channel.writeAndFlush(new PacketOutViewDistance(10));
+        assertEquals(0, this.flushes);
+
+        TickFlushScheduler.flushAll();
+        this.channel.runPendingTasks();
+        assertEquals(1, this.flushes);
+    }
+
+    @Test
+    void flushesStatusAndLoginPacketsImmediately() {
+        this.channel.writeAndFlush(new PacketOutPong(1));
+        assertEquals(1, this.flushes);
+
+        this.channel.writeAndFlush(new PacketOutEnableCompression(256));
+        assertEquals(2, this.flushes);
+    }
+
+    @Test
+    void flushesPreparedPacketsLikeTheirSource() {
+        this.channel.writeAndFlush(new EncodedPacket(Unpooled.buffer(), new PacketOutViewDistance(8)));
+        assertEquals(0, this.flushes);
+
+        this.channel.writeAndFlush(new EncodedPacket(Unpooled.buffer(), new PacketOutKeepAlive(1)));
+        assertEquals(1, this.flushes);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.handler.movement;
+
+import com.github.phantompowered.server4je.network.packet.EncodedPacket;
+import com.github.phantompowered.server4je.protocol.play.out.PacketOutEntityPosition;
+import com.github.phantompowered.server4je.protocol.play.out.PacketOutEntityStatus;
+import com.github.phantompowered.server4je.protocol.play.out.PacketOutEntityTeleport;
+import com.github.phantompowered.server4je.protocol.play.out.PacketOutKeepAlive;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EntityMovementCoalescerTest {
+
+    private final List<String> written = new ArrayList<>();
+    private final EmbeddedChannel channel = new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            // the merged packets are recycled once written, record them right away
+            EntityMovementCoalescerTest.this.written.add(describe(msg));
+            ReferenceCountUtil.release(msg);
+            promise.trySuccess();
+        }
+    }, new EntityMovementCoalescer());
+
+    @AfterEach
+    void closeChannel() {
+        this.channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void mergesMovesUntilTheFlush() {
+        this.channel.write(new PacketOutEntityPosition(1, 100, 0, -50, true));
+        this.channel.write(new PacketOutEntityPosition(1, 20, 10, 0, false));
+        assertEquals(List.of(), this.written);
+
+        this.channel.flush();
+        assertEquals(List.of("position 1 120 10 -50"), this.written);
+    }
+
+    @Test
+    void writesPendingMovesBeforeOtherPacketsOfTheEntity() {
+        this.channel.write(new PacketOutEntityPosition(1, 100, 0, 0, true));
+        this.channel.write(new PacketOutEntityPosition(2, 100, 0, 0, true));
+        this.channel.write(new PacketOutEntityStatus(1, (byte) 2));
+
+        assertEquals(List.of("position 1 100 0 0", "PacketOutEntityStatus"), this.written);
+    }
+
+    @Test
+    void writesPendingMovesBeforePreparedPacketsOfTheEntity() {
+        this.channel.write(new PacketOutEntityPosition(1, 100, 0, 0, true));
+        this.channel.write(new PacketOutEntityPosition(2, 100, 0, 0, true));
+        this.channel.write(new EncodedPacket(Unpooled.buffer(), new PacketOutEntityTeleport(1, 5, 64, 5, 0, 0, true)));
+
+        assertEquals(List.of("position 1 100 0 0", "encoded PacketOutEntityTeleport 1"), this.written);
+
+        this.channel.flush();
+        assertEquals(List.of("position 1 100 0 0", "encoded PacketOutEntityTeleport 1", "position 2 100 0 0"), this.written);
+    }
+
+    @Test
+    void keepsPendingMovesForPreparedPacketsOfOtherTypes() {
+        this.channel.write(new PacketOutEntityPosition(1, 100, 0, 0, true));
+        this.channel.write(new EncodedPacket(Unpooled.buffer(), new PacketOutKeepAlive(1)));
+
+        assertEquals(List.of("encoded PacketOutKeepAlive"), this.written);
+    }
+
+    private static String describe(Object msg) {
+        if (msg instanceof PacketOutEntityPosition) {
+            PacketOutEntityPosition position = (PacketOutEntityPosition) msg;
+            return "position " + position.getEntityId() + ' ' + position.getDeltaX() + ' ' + position.getDeltaY() + ' ' + position.getDeltaZ();
+        }
+
+        if (msg instanceof EncodedPacket) {
+            EncodedPacket encodedPacket = (EncodedPacket) msg;
+            return "encoded " + encodedPacket.getPacketClass().getSimpleName() + (encodedPacket.isEntityPacket() ? " " + encodedPacket.getEntityId() : "");
+        }
+
+        return msg.getClass().getSimpleName();
+    }
+}
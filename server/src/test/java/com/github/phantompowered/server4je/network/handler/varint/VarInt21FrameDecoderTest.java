@@ -0,0 +1,114 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.handler.varint;
+
+import com.github.phantompowered.server4je.network.buffer.ByteBufUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.CorruptedFrameException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class VarInt21FrameDecoderTest {
+
+    private final EmbeddedChannel channel = new EmbeddedChannel(new VarInt21FrameDecoder());
+
+    @AfterEach
+    void closeChannel() {
+        this.channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void decodesFramesSplitAcrossReads() {
+        ByteBuf frame = writeFrame(Unpooled.buffer(), 300);
+
+        // split inside the length and inside the content
+        assertFalse(this.channel.writeInbound(frame.readRetainedSlice(1)));
+        assertFalse(this.channel.writeInbound(frame.readRetainedSlice(100)));
+        this.channel.writeInbound(frame.readRetainedSlice(frame.readableBytes()));
+        frame.release();
+
+        this.assertFrame(300);
+        assertNull(this.channel.readInbound());
+    }
+
+    @Test
+    void decodesMultipleFramesOfOneRead() {
+        ByteBuf frames = Unpooled.buffer();
+        writeFrame(frames, 1);
+        writeFrame(frames, 0);
+        writeFrame(frames, 128);
+        this.channel.writeInbound(frames);
+
+        this.assertFrame(1);
+        this.assertFrame(128);
+        assertNull(this.channel.readInbound());
+    }
+
+    @Test
+    void rejectsLengthsExceedingTwentyOneBits() {
+        ByteBuf header = Unpooled.buffer().writeBytes(new byte[]{(byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01});
+
+        CorruptedFrameException exception = assertThrows(CorruptedFrameException.class, () -> this.channel.writeInbound(header));
+        assertEquals(0, exception.getStackTrace().length);
+
+        EmbeddedChannel other = new EmbeddedChannel(new VarInt21FrameDecoder());
+        try {
+            CorruptedFrameException second = assertThrows(CorruptedFrameException.class,
+                () -> other.writeInbound(Unpooled.buffer().writeBytes(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF})));
+            assertSame(exception, second);
+        } finally {
+            other.finishAndReleaseAll();
+        }
+    }
+
+    private void assertFrame(int length) {
+        ByteBuf frame = this.channel.readInbound();
+        try {
+            assertEquals(length, frame.readableBytes());
+            for (int i = 0; i < length; i++) {
+                assertEquals((byte) i, frame.getByte(i));
+            }
+        } finally {
+            frame.release();
+        }
+    }
+
+    private static ByteBuf writeFrame(ByteBuf out, int length) {
+        ByteBufUtil.writeUnsignedVarInt(out, length);
+        for (int i = 0; i < length; i++) {
+            out.writeByte(i);
+        }
+
+        return out;
+    }
+}
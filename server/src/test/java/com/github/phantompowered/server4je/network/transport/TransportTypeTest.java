@@ -0,0 +1,135 @@
+/*
+ * This file is part of server4je, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) PhantomPowered <https://github.com/PhantomPowered>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.phantompowered.server4je.network.transport;
+
+import com.github.phantompowered.server4je.network.thread.AffinityThreadFactory;
+import com.github.phantompowered.server4je.network.thread.FastNettyThreadFactory;
+import io.netty.channel.EventLoopGroup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransportTypeTest {
+
+    @AfterEach
+    void clearProperties() {
+        System.clearProperty("netty.native-disabled");
+        System.clearProperty(TransportType.TRANSPORT_PROPERTY);
+        System.clearProperty(TransportType.THREAD_AFFINITY_PROPERTY);
+    }
+
+    @Test
+    void choosesTheFirstAvailableTransportAutomatically() {
+        TransportType expected = TransportType.NIO;
+        for (TransportType type : TransportType.VALUES) {
+            if (type != TransportType.IO_URING && type.isAvailable()) {
+                expected = type;
+                break;
+            }
+        }
+
+        assertEquals(expected, TransportType.getBestType());
+
+        System.setProperty(TransportType.TRANSPORT_PROPERTY, "auto");
+        assertEquals(expected, TransportType.getBestType());
+        assertNotEquals(TransportType.IO_URING, TransportType.getBestType());
+    }
+
+    @Test
+    void choosesTheRequestedTransport() {
+        for (String name : new String[]{"nio", "Nio", "NIO"}) {
+            System.setProperty(TransportType.TRANSPORT_PROPERTY, name);
+            assertEquals(TransportType.NIO, TransportType.getBestType());
+        }
+
+        for (TransportType type : TransportType.VALUES) {
+            System.setProperty(TransportType.TRANSPORT_PROPERTY, type.getName());
+            TransportType chosen = TransportType.getBestType();
+
+            assertEquals(type.isAvailable(), chosen == type);
+            assertTrue(chosen.isAvailable());
+        }
+    }
+
+    @Test
+    void fallsBackForUnknownOrUnavailableTransports() {
+        TransportType automatic = TransportType.getBestType();
+
+        System.setProperty(TransportType.TRANSPORT_PROPERTY, "carrier-pigeon");
+        assertEquals(automatic, TransportType.getBestType());
+
+        System.setProperty(TransportType.TRANSPORT_PROPERTY, "io_uring");
+        assertEquals(TransportType.IO_URING.isAvailable() ? TransportType.IO_URING : automatic, TransportType.getBestType());
+    }
+
+    @Test
+    void choosesNioIfNativeTransportsAreDisabled() {
+        System.setProperty("netty.native-disabled", "true");
+        System.setProperty(TransportType.TRANSPORT_PROPERTY, "epoll");
+
+        assertEquals(TransportType.NIO, TransportType.getBestType());
+    }
+
+    @Test
+    void supportsReusePortOnlyOnEpoll() {
+        for (TransportType type : TransportType.VALUES) {
+            assertEquals(type == TransportType.EPOLL, type.isReusePortSupported());
+        }
+
+        assertFalse(TransportType.IO_URING.isDomainSocketSupported());
+        assertFalse(TransportType.NIO.isDomainSocketSupported());
+    }
+
+    @Test
+    void pinsOnlyWorkerThreads() {
+        assertTrue(TransportType.newThreadFactory("Nio", EventLoopGroupType.WORKER) instanceof FastNettyThreadFactory);
+
+        System.setProperty(TransportType.THREAD_AFFINITY_PROPERTY, "true");
+        assertTrue(TransportType.newThreadFactory("Nio", EventLoopGroupType.WORKER) instanceof AffinityThreadFactory);
+        assertTrue(TransportType.newThreadFactory("Nio", EventLoopGroupType.BOSS) instanceof FastNettyThreadFactory);
+    }
+
+    @Test
+    void createsEventLoopGroupsWithTheConfiguredThreadCount() throws InterruptedException {
+        assertEquals(1, EventLoopGroupType.BOSS.getThreadCount());
+        assertTrue(EventLoopGroupType.WORKER.getThreadCount() >= 1);
+
+        EventLoopGroup eventLoopGroup = TransportType.NIO.getEventLoopGroup(EventLoopGroupType.BOSS);
+        try {
+            int eventLoops = 0;
+            for (Object ignored : eventLoopGroup) {
+                eventLoops++;
+            }
+
+            assertEquals(EventLoopGroupType.BOSS.getThreadCount(), eventLoops);
+        } finally {
+            eventLoopGroup.shutdownGracefully().await();
+        }
+    }
+}